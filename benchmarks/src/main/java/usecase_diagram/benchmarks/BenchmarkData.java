@@ -0,0 +1,124 @@
+package usecase_diagram.benchmarks;
+
+import usecase_diagram.dto.OrderDTO;
+import usecase_diagram.dto.OrderLineDTO;
+import usecase_diagram.dto.ProductDTO;
+import usecase_diagram.models.Customer;
+import usecase_diagram.models.Order;
+import usecase_diagram.models.OrderLine;
+import usecase_diagram.models.Product;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed entities and DTOs shaped like production data, shared by the benchmarks.
+ */
+public final class BenchmarkData {
+    
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 3, 14, 9, 26, 53);
+    
+    private BenchmarkData() {
+    }
+    
+    public static Product product(long id) {
+        Product product = new Product("SKU-" + (100000 + id), "Stainless steel water bottle " + id,
+            "Double-walled, vacuum insulated bottle that keeps drinks cold for 24 hours", 1999 + id,
+            250, "Kitchen");
+        product.setId(id);
+        product.setCreatedAt(CREATED_AT);
+        product.setUpdatedAt(CREATED_AT);
+        return product;
+    }
+    
+    public static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+    
+    public static Customer customer() {
+        Customer customer = new Customer("Ada Lovelace", "ada@example.com", "12 St James's Square, London");
+        customer.setId(42L);
+        return customer;
+    }
+    
+    /**
+     * A placed order with one line per product, as loaded with its customer and lines.
+     */
+    public static Order order(int lines) {
+        Order order = new Order();
+        order.setId(7L);
+        order.setOrderNumber("ORD-0K3JQ9T2M4XWZ");
+        order.setCustomer(customer());
+        order.setDateReceived(CREATED_AT);
+        order.setCreatedAt(CREATED_AT);
+        order.setUpdatedAt(CREATED_AT);
+        
+        long totalPriceMinor = 0;
+        for (Product product : products(lines)) {
+            OrderLine line = new OrderLine(product, 1 + (int) (product.getId() % 3), product.getPriceMinor());
+            line.setId(product.getId());
+            order.addOrderLine(line);
+            totalPriceMinor += line.getLineTotalMinor();
+        }
+        order.setTotalPriceMinor(totalPriceMinor);
+        return order;
+    }
+    
+    public static ProductDTO productDTO(long id) {
+        Product product = product(id);
+        ProductDTO dto = new ProductDTO();
+        dto.setId(product.getId());
+        dto.setSku(product.getSku());
+        dto.setName(product.getName());
+        dto.setDescription(product.getDescription());
+        dto.setPriceMinor(product.getPriceMinor());
+        dto.setStockQuantity(product.getStockQuantity());
+        dto.setCategory(product.getCategory());
+        dto.setIsActive(product.getIsActive());
+        dto.setCreatedAt(product.getCreatedAt());
+        dto.setUpdatedAt(product.getUpdatedAt());
+        return dto;
+    }
+    
+    public static List<ProductDTO> productDTOs(int count) {
+        List<ProductDTO> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            products.add(productDTO(i));
+        }
+        return products;
+    }
+    
+    public static OrderDTO orderDTO(int lines) {
+        Order order = order(lines);
+        OrderDTO dto = new OrderDTO();
+        dto.setId(order.getId());
+        dto.setOrderNumber(order.getOrderNumber());
+        dto.setDateReceived(order.getDateReceived());
+        dto.setIsPrepaid(order.isPrepaid());
+        dto.setTotalPriceMinor(order.getTotalPriceMinor());
+        dto.setStatus(order.getStatus());
+        dto.setCustomerId(order.getCustomer().getId());
+        dto.setCustomerName(order.getCustomer().getName());
+        dto.setCreatedAt(order.getCreatedAt());
+        dto.setUpdatedAt(order.getUpdatedAt());
+        
+        List<OrderLineDTO> lineDTOs = new ArrayList<>(lines);
+        for (OrderLine line : order.getOrderLines()) {
+            OrderLineDTO lineDTO = new OrderLineDTO();
+            lineDTO.setId(line.getId());
+            lineDTO.setProductId(line.getProduct().getId());
+            lineDTO.setProductName(line.getProduct().getName());
+            lineDTO.setQuantity(line.getQuantity());
+            lineDTO.setUnitPriceMinor(line.getUnitPriceMinor());
+            lineDTO.setLineTotalMinor(line.getLineTotalMinor());
+            lineDTOs.add(lineDTO);
+        }
+        dto.setOrderLines(lineDTOs);
+        return dto;
+    }
+}
@@ -0,0 +1,123 @@
+package usecase_diagram.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the benchmarks with the GC profiler and compares throughput and allocation per
+ * operation against the checked-in baseline.
+ * Usage: BenchmarkRunner [--record] [include regex]
+ * With --record the baseline is rewritten from this run instead. Otherwise the exit code
+ * is 1 when a benchmark is slower, or allocates more, than the baseline by more than
+ * -Dbenchmark.tolerance (default 0.10), and also when there is no baseline to compare
+ * with, so a missing baseline cannot pass as a clean run.
+ */
+public final class BenchmarkRunner {
+    
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    
+    // Slack on allocation so a few bytes of JIT noise do not fail a zero-allocation baseline
+    private static final double ALLOCATION_SLACK_BYTES = 16;
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    
+    private BenchmarkRunner() {
+    }
+    
+    public static void main(String[] args) throws RunnerException, IOException {
+        boolean record = args.length > 0 && args[0].equals("--record");
+        String include = args.length > (record ? 1 : 0) ? args[args.length - 1] : "usecase_diagram\\..*Benchmark";
+        Path baselineFile = Paths.get(System.getProperty("benchmark.baseline", "benchmarks/baseline.json"));
+        double tolerance = Double.parseDouble(System.getProperty("benchmark.tolerance", "0.10"));
+        
+        Map<String, BaselineEntry> baseline = Map.of();
+        if (!record) {
+            // Checked before running so an empty baseline fails in seconds, not after the whole suite
+            baseline = Files.exists(baselineFile)
+                ? MAPPER.readValue(baselineFile.toFile(), new TypeReference<TreeMap<String, BaselineEntry>>() { })
+                : Map.of();
+            if (baseline.isEmpty()) {
+                System.err.println("No baseline results in " + baselineFile + "; record one with --record first");
+                System.exit(1);
+            }
+        }
+        
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .include(include)
+            .addProfiler(GCProfiler.class);
+        Map<String, BaselineEntry> current = summarize(new Runner(options.build()).run());
+        
+        if (record) {
+            MAPPER.writeValue(baselineFile.toFile(), current);
+            System.out.println("Recorded " + current.size() + " benchmarks to " + baselineFile);
+            return;
+        }
+        
+        if (!compare(baseline, current, tolerance)) {
+            System.exit(1);
+        }
+    }
+    
+    // Helper methods
+    private static Map<String, BaselineEntry> summarize(Collection<RunResult> results) {
+        Map<String, BaselineEntry> entries = new TreeMap<>();
+        for (RunResult result : results) {
+            StringBuilder key = new StringBuilder(result.getParams().getBenchmark());
+            for (String param : result.getParams().getParamsKeys()) {
+                key.append(' ').append(param).append('=').append(result.getParams().getParam(param));
+            }
+            Result<?> allocation = result.getSecondaryResults().get(ALLOCATION_METRIC);
+            entries.put(key.toString(), new BaselineEntry(
+                result.getPrimaryResult().getScore(),
+                result.getPrimaryResult().getScoreUnit(),
+                allocation != null ? allocation.getScore() : Double.NaN));
+        }
+        return entries;
+    }
+    
+    private static boolean compare(Map<String, BaselineEntry> baseline, Map<String, BaselineEntry> current,
+                                   double tolerance) {
+        boolean passed = true;
+        System.out.printf("%-80s %14s %14s %12s %12s%n", "Benchmark", "Baseline", "Current", "B/op was", "B/op now");
+        for (Map.Entry<String, BaselineEntry> entry : current.entrySet()) {
+            BaselineEntry now = entry.getValue();
+            BaselineEntry before = baseline.get(entry.getKey());
+            String verdict = "";
+            if (before == null) {
+                verdict = "  (not in baseline)";
+            } else if (now.score() < before.score() * (1 - tolerance)) {
+                verdict = "  SLOWER";
+                passed = false;
+            } else if (now.bytesPerOp() > before.bytesPerOp() * (1 + tolerance) + ALLOCATION_SLACK_BYTES) {
+                verdict = "  ALLOCATES MORE";
+                passed = false;
+            }
+            System.out.printf("%-80s %14.1f %14.1f %12.1f %12.1f %s%s%n", entry.getKey(),
+                before != null ? before.score() : Double.NaN, now.score(),
+                before != null ? before.bytesPerOp() : Double.NaN, now.bytesPerOp(), now.unit(), verdict);
+        }
+        return passed;
+    }
+    
+    /**
+     * Throughput and allocation of one benchmark and parameter combination.
+     */
+    public record BaselineEntry(double score, String unit, double bytesPerOp) {
+    }
+}
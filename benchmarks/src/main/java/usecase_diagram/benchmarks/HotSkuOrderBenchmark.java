@@ -0,0 +1,95 @@
+package usecase_diagram.benchmarks;
+
+import usecase_diagram.OnlineStoreApplication;
+import usecase_diagram.dto.CreateOrderRequest;
+import usecase_diagram.dto.CreateProductRequest;
+import usecase_diagram.dto.OrderDTO;
+import usecase_diagram.models.Customer;
+import usecase_diagram.repository.CustomerRepository;
+import usecase_diagram.services.OrderService;
+import usecase_diagram.services.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orders per second when every order takes one unit of the same product, per stock mode.
+ * ENTITY serializes the orders on the product's row lock, CONDITIONAL_UPDATE on the row
+ * being updated and LEDGER only on the in-memory reservation. Runs OrderService with its
+ * transactions against an in-memory H2 database, so the score includes the order inserts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(8)
+@State(Scope.Benchmark)
+public class HotSkuOrderBenchmark {
+    
+    // Enough that no mode runs out of stock during a fork
+    private static final int HOT_SKU_STOCK = 100_000_000;
+    
+    @Param({"ENTITY", "CONDITIONAL_UPDATE", "LEDGER"})
+    public String stockMode;
+    
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private CreateOrderRequest request;
+    
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(OnlineStoreApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setDefaultProperties(Map.of(
+            "spring.datasource.url", "jdbc:h2:mem:hot-sku;DB_CLOSE_DELAY=-1",
+            "spring.jpa.hibernate.ddl-auto", "create",
+            "logging.level.root", "WARN"));
+        context = application.run("--store.stock.mode=" + stockMode);
+        orderService = context.getBean(OrderService.class);
+        
+        Long customerId = context.getBean(CustomerRepository.class)
+            .save(new Customer("Ada Lovelace", "ada@example.com", "12 St James's Square, London")).getId();
+        CreateProductRequest product = new CreateProductRequest();
+        product.setSku("HOT-SKU");
+        product.setName("Limited edition water bottle");
+        product.setPriceMinor(1999L);
+        product.setStockQuantity(HOT_SKU_STOCK);
+        product.setCategory("Kitchen");
+        Long productId = context.getBean(ProductService.class).createProduct(product).getId();
+        
+        CreateOrderRequest.OrderLineRequest line = new CreateOrderRequest.OrderLineRequest();
+        line.setProductId(productId);
+        line.setQuantity(1);
+        request = new CreateOrderRequest();
+        request.setCustomerId(customerId);
+        request.setOrderLines(List.of(line));
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public OrderDTO placeOrder() {
+        return orderService.placeOrder(request);
+    }
+}
@@ -0,0 +1,42 @@
+package usecase_diagram.benchmarks;
+
+import usecase_diagram.services.SnowflakeOrderNumberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order number generation behind OrderService.generateOrderNumber, alone and contended.
+ * Above 4096 numbers per millisecond the generator waits for the next millisecond, so the
+ * contended score is capped by design rather than by the compare-and-set loop.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class OrderNumberBenchmark {
+    
+    private final SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(1, false);
+    
+    @Benchmark
+    public String nextOrderNumber() {
+        return generator.nextOrderNumber();
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public String nextOrderNumberContended() {
+        return generator.nextOrderNumber();
+    }
+}
@@ -0,0 +1,72 @@
+package usecase_diagram.benchmarks;
+
+import usecase_diagram.dto.OrderDTO;
+import usecase_diagram.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the response DTOs, with the mapper configured like Spring Boot's
+ * default one. The catalog case matches what CatalogResponseCache serializes per entry.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    
+    @Param({"1", "20"})
+    private int lines;
+    
+    @Param({"100"})
+    private int catalogSize;
+    
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+        .findAndAddModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    
+    private OrderDTO order;
+    private ProductDTO product;
+    private List<ProductDTO> catalog;
+    
+    @Setup
+    public void setUp() {
+        order = BenchmarkData.orderDTO(lines);
+        product = BenchmarkData.productDTO(1);
+        catalog = BenchmarkData.productDTOs(catalogSize);
+    }
+    
+    @Benchmark
+    public byte[] order() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+    
+    @Benchmark
+    public byte[] product() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(product);
+    }
+    
+    @Benchmark
+    public byte[] catalog() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(catalog);
+    }
+}
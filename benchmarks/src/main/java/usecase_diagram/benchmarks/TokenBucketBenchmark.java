@@ -0,0 +1,56 @@
+package usecase_diagram.benchmarks;
+
+import usecase_diagram.ratelimit.TokenBucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request rate limit check. A bucket too large to run dry measures the admit path;
+ * an empty one measures rejection. Both should allocate nothing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class TokenBucketBenchmark {
+    
+    private TokenBucket unlimited;
+    private TokenBucket exhausted;
+    
+    @Setup
+    public void setUp() {
+        long now = System.nanoTime();
+        unlimited = new TokenBucket(1e12, Integer.MAX_VALUE, now);
+        exhausted = new TokenBucket(1e-3, 1, now);
+        exhausted.tryAcquire(now);
+    }
+    
+    @Benchmark
+    public long admit() {
+        return unlimited.tryAcquire(System.nanoTime());
+    }
+    
+    @Benchmark
+    public long reject() {
+        return exhausted.tryAcquire(System.nanoTime());
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public long admitContended() {
+        return unlimited.tryAcquire(System.nanoTime());
+    }
+}
@@ -0,0 +1,82 @@
+package usecase_diagram.benchmarks;
+
+import usecase_diagram.metrics.StoreMetrics;
+import usecase_diagram.metrics.UseCaseMetricsInterceptor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the use-case timer around a service call: the same trivial call made directly,
+ * through a plain proxy and through a proxy advised by UseCaseMetricsInterceptor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class UseCaseMetricsBenchmark {
+    
+    private PriceLookup direct;
+    private PriceLookup proxied;
+    private PriceLookup timed;
+    
+    private long productId = 1;
+    
+    @Setup
+    public void setUp() {
+        direct = new FixedPriceLookup();
+        proxied = proxy(direct);
+        
+        StoreMetrics metrics = new StoreMetrics(new SimpleMeterRegistry());
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("storeMetrics", metrics));
+        ProxyFactory factory = new ProxyFactory(direct);
+        factory.addAdvice(new UseCaseMetricsInterceptor(beanFactory.getBeanProvider(StoreMetrics.class)));
+        timed = (PriceLookup) factory.getProxy();
+    }
+    
+    @Benchmark
+    public long direct() {
+        return direct.priceOf(productId);
+    }
+    
+    @Benchmark
+    public long proxied() {
+        return proxied.priceOf(productId);
+    }
+    
+    @Benchmark
+    public long timed() {
+        return timed.priceOf(productId);
+    }
+    
+    // Helper methods
+    private static PriceLookup proxy(PriceLookup target) {
+        return (PriceLookup) new ProxyFactory(target).getProxy();
+    }
+    
+    public interface PriceLookup {
+        long priceOf(long productId);
+    }
+    
+    static final class FixedPriceLookup implements PriceLookup {
+        @Override
+        public long priceOf(long productId) {
+            return 1999 + productId;
+        }
+    }
+}
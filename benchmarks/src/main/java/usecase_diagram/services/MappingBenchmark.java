@@ -0,0 +1,59 @@
+package usecase_diagram.services;
+
+import usecase_diagram.benchmarks.BenchmarkData;
+import usecase_diagram.dto.OrderDTO;
+import usecase_diagram.dto.ProductDTO;
+import usecase_diagram.models.Order;
+import usecase_diagram.models.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping done for every order and product returned by the services.
+ * Kept in the services package to call the package-private convertToDTO methods; the
+ * services are created without Spring since mapping loaded entities uses no collaborators.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+    
+    @Param({"1", "5", "20"})
+    private int lines;
+    
+    private final OrderService orderService = new OrderService();
+    private final ProductService productService = new ProductService();
+    
+    private Order order;
+    private Product product;
+    
+    @Setup
+    public void setUp() {
+        order = BenchmarkData.order(lines);
+        product = BenchmarkData.product(1);
+    }
+    
+    @Benchmark
+    public OrderDTO orderToDTO() {
+        return orderService.convertToDTO(order);
+    }
+    
+    @Benchmark
+    public ProductDTO productToDTO() {
+        return productService.convertToDTO(product);
+    }
+}
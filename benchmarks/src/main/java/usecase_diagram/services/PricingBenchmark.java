@@ -0,0 +1,81 @@
+package usecase_diagram.services;
+
+import usecase_diagram.benchmarks.BenchmarkData;
+import usecase_diagram.dto.CreateOrderRequest;
+import usecase_diagram.dto.ProductDTO;
+import usecase_diagram.models.Order;
+import usecase_diagram.models.OrderLine;
+import usecase_diagram.models.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Order pricing: OrderService.addOrderLines, the line loop of createOrder without stock
+ * reservation or persistence, and OrderLine.getLineTotalMinor on its own.
+ * Kept in the services package to call the package-private addOrderLines.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PricingBenchmark {
+    
+    @Param({"1", "5", "20"})
+    private int lines;
+    
+    private List<ProductDTO> products;
+    private List<CreateOrderRequest.OrderLineRequest> lineRequests;
+    private Function<Long, Product> productReference;
+    private OrderLine line;
+    
+    @Setup
+    public void setUp() {
+        products = BenchmarkData.productDTOs(lines);
+        List<Product> references = BenchmarkData.products(lines);
+        Map<Long, Product> referencesById = references.stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        productReference = referencesById::get;
+        
+        lineRequests = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            CreateOrderRequest.OrderLineRequest lineRequest = new CreateOrderRequest.OrderLineRequest();
+            lineRequest.setProductId(products.get(i).getId());
+            lineRequest.setQuantity(1 + i % 3);
+            lineRequests.add(lineRequest);
+        }
+        line = new OrderLine(references.get(0), 3, products.get(0).getPriceMinor());
+    }
+    
+    /**
+     * Build and price an order's lines the way createOrder does.
+     */
+    @Benchmark
+    public Order priceOrder() {
+        Order order = new Order();
+        order.setTotalPriceMinor(OrderService.addOrderLines(order, products, lineRequests, productReference));
+        return order;
+    }
+    
+    @Benchmark
+    public long lineTotal() {
+        return line.getLineTotalMinor();
+    }
+}
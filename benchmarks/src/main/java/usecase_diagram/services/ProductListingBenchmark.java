@@ -0,0 +1,89 @@
+package usecase_diagram.services;
+
+import usecase_diagram.OnlineStoreApplication;
+import usecase_diagram.dto.ProductDTO;
+import usecase_diagram.models.Product;
+import usecase_diagram.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing 10,000 products in a read-only transaction: loading managed Product entities and
+ * copying them into DTOs, against projecting the rows straight into ProductDTO. Run with the
+ * GC profiler, gc.alloc.rate.norm is the heap allocated per listing of 10,000 products.
+ * Kept in the services package to call the package-private convertToDTO.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ProductListingBenchmark {
+    
+    private static final int LISTINGS = 10_000;
+    
+    private final ProductService mapper = new ProductService();
+    
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private TransactionTemplate readOnly;
+    
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(OnlineStoreApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setDefaultProperties(Map.of(
+            "spring.datasource.url", "jdbc:h2:mem:product-listing;DB_CLOSE_DELAY=-1",
+            "spring.jpa.hibernate.ddl-auto", "create",
+            "logging.level.root", "WARN"));
+        context = application.run();
+        productRepository = context.getBean(ProductRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        
+        List<Product> products = new ArrayList<>(LISTINGS);
+        for (int i = 1; i <= LISTINGS; i++) {
+            products.add(new Product("SKU-" + (100000 + i), "Stainless steel water bottle " + i,
+                "Double-walled, vacuum insulated bottle that keeps drinks cold for 24 hours", 1999 + i,
+                250, "Kitchen"));
+        }
+        productRepository.saveAll(products);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public List<ProductDTO> entities() {
+        return readOnly.execute(status -> productRepository.findByIsActive(true).stream()
+            .map(mapper::convertToDTO)
+            .toList());
+    }
+    
+    @Benchmark
+    public List<ProductDTO> projection() {
+        return readOnly.execute(status -> productRepository.findByIsActiveAsDTO(true));
+    }
+}
@@ -0,0 +1,227 @@
+package usecase_diagram.datagen;
+
+import javax.sql.DataSource;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams generated rows into a database with multi-row INSERT statements sent in JDBC
+ * batches. Tables load one after another in the order given, so foreign keys are
+ * satisfied; each table is split into id ranges loaded in parallel, one connection per
+ * range. Rows are never held beyond the statement being filled, so memory use does not
+ * grow with the dataset.
+ */
+public class BulkLoader {
+    
+    // Lowest common limits: SQL Server allows 1000 rows per VALUES list and 2100 parameters per statement
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+    private static final int MAX_PARAMETERS_PER_STATEMENT = 2000;
+    
+    private final DataSource dataSource;
+    private final int threads;
+    private final int rowsPerStatement;
+    private final int statementsPerBatch;
+    private final int rowsPerCommit;
+    
+    public BulkLoader(DataSource dataSource, int threads, int rowsPerStatement, int statementsPerBatch,
+                      int rowsPerCommit) {
+        this.dataSource = dataSource;
+        this.threads = threads;
+        this.rowsPerStatement = rowsPerStatement;
+        this.statementsPerBatch = statementsPerBatch;
+        this.rowsPerCommit = rowsPerCommit;
+    }
+    
+    /**
+     * Load the tables in order, then run the finishing statements, e.g. to move sequences
+     * past the loaded ids.
+     */
+    public void load(List<TableSpec> tables, List<String> afterLoad, PrintStream log) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (TableSpec table : tables) {
+                long start = System.nanoTime();
+                long rows = loadTable(table, executor);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                log.printf("%-14s %,13d rows %8.1f s %,12.0f rows/s%n", table.name(), rows, seconds, rows / seconds);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : afterLoad) {
+                statement.execute(sql);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not finish the load", e);
+        }
+    }
+    
+    // Helper methods
+    private long loadTable(TableSpec table, ExecutorService executor) {
+        AtomicLong rows = new AtomicLong();
+        long rangeSize = Math.max(1, (table.sourceCount() + threads - 1) / threads);
+        List<Future<?>> ranges = new ArrayList<>();
+        for (long from = 1; from <= table.sourceCount(); from += rangeSize) {
+            long first = from;
+            long last = Math.min(table.sourceCount(), from + rangeSize - 1);
+            ranges.add(executor.submit(() -> {
+                rows.addAndGet(loadRange(table, first, last));
+                return null;
+            }));
+        }
+        
+        try {
+            for (Future<?> range : ranges) {
+                range.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading " + table.name(), e);
+        } catch (ExecutionException e) {
+            ranges.forEach(range -> range.cancel(true));
+            throw new IllegalStateException("Could not load " + table.name(), e.getCause());
+        }
+        return rows.get();
+    }
+    
+    private long loadRange(TableSpec table, long first, long last) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            execute(connection, table.before());
+            MultiRowInserter inserter = new MultiRowInserter(connection, table);
+            try {
+                for (long sourceId = first; sourceId <= last; sourceId++) {
+                    table.emitter().emit(sourceId, inserter);
+                }
+                inserter.finish();
+            } finally {
+                inserter.close();
+            }
+            execute(connection, table.after());
+            connection.commit();
+            return inserter.rows;
+        }
+    }
+    
+    private static void execute(Connection connection, List<String> statements) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+    
+    private static String insertSql(TableSpec table, int rows) {
+        String placeholders = "(" + String.join(", ", Collections.nCopies(table.columns().size(), "?")) + ")";
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table.name())
+            .append(" (").append(String.join(", ", table.columns())).append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(placeholders);
+        }
+        return sql.toString();
+    }
+    
+    /**
+     * Fills a multi-row INSERT and adds it to the batch each time it is full.
+     * RowSink cannot throw checked exceptions, so SQL errors are rethrown unchecked.
+     */
+    private final class MultiRowInserter implements TableSpec.RowSink {
+        
+        private final Connection connection;
+        private final TableSpec table;
+        private final int columns;
+        private final int statementRows;
+        private final PreparedStatement fullStatement;
+        private final Object[][] pending;
+        private int pendingRows;
+        private int batchedStatements;
+        private long uncommittedRows;
+        private long rows;
+        
+        private MultiRowInserter(Connection connection, TableSpec table) throws SQLException {
+            this.connection = connection;
+            this.table = table;
+            this.columns = table.columns().size();
+            this.statementRows = Math.max(1, Math.min(rowsPerStatement,
+                Math.min(MAX_ROWS_PER_STATEMENT, MAX_PARAMETERS_PER_STATEMENT / columns)));
+            this.fullStatement = connection.prepareStatement(insertSql(table, statementRows));
+            this.pending = new Object[statementRows][];
+        }
+        
+        @Override
+        public void accept(Object... values) {
+            if (values.length != columns) {
+                throw new IllegalArgumentException(table.name() + " expects " + columns + " values, got " + values.length);
+            }
+            pending[pendingRows++] = values;
+            rows++;
+            if (pendingRows == statementRows) {
+                try {
+                    bind(fullStatement, pendingRows);
+                    fullStatement.addBatch();
+                    pendingRows = 0;
+                    if (++batchedStatements == statementsPerBatch) {
+                        flushBatch();
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Could not insert into " + table.name(), e);
+                }
+            }
+        }
+        
+        private void finish() throws SQLException {
+            flushBatch();
+            if (pendingRows > 0) {
+                try (PreparedStatement tail = connection.prepareStatement(insertSql(table, pendingRows))) {
+                    bind(tail, pendingRows);
+                    tail.executeUpdate();
+                }
+                pendingRows = 0;
+            }
+        }
+        
+        private void flushBatch() throws SQLException {
+            if (batchedStatements == 0) {
+                return;
+            }
+            fullStatement.executeBatch();
+            uncommittedRows += (long) batchedStatements * statementRows;
+            batchedStatements = 0;
+            // Commit now and then so no single transaction holds the whole range
+            if (uncommittedRows >= rowsPerCommit) {
+                connection.commit();
+                uncommittedRows = 0;
+            }
+        }
+        
+        private void bind(PreparedStatement statement, int rowCount) throws SQLException {
+            int parameter = 1;
+            for (int row = 0; row < rowCount; row++) {
+                for (Object value : pending[row]) {
+                    statement.setObject(parameter++, value);
+                }
+                pending[row] = null;
+            }
+        }
+        
+        private void close() throws SQLException {
+            fullStatement.close();
+        }
+    }
+}
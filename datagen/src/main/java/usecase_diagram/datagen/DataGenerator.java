@@ -0,0 +1,79 @@
+package usecase_diagram.datagen;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line entry point: generates a dataset and bulk loads it, or with no
+ * datagen.jdbc-url only generates it and reports how fast rows are produced.
+ * Usage: DataGenerator --datagen.target=store|erdiagram --datagen.jdbc-url=... [--datagen.*=...]
+ */
+public final class DataGenerator {
+    
+    private DataGenerator() {
+    }
+    
+    public static void main(String[] args) {
+        Map<String, String> settings = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            settings.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        
+        SyntheticData data = new SyntheticData(DatasetSpec.from(settings));
+        TargetSchema schema = schema(settings);
+        List<TableSpec> tables = schema.tables(data);
+        
+        String jdbcUrl = settings.get("datagen.jdbc-url");
+        if (jdbcUrl == null) {
+            generateOnly(tables);
+            return;
+        }
+        
+        int threads = Integer.parseInt(settings.getOrDefault("datagen.threads",
+            String.valueOf(Math.min(8, Runtime.getRuntime().availableProcessors()))));
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl(jdbcUrl);
+            dataSource.setUsername(settings.get("datagen.username"));
+            dataSource.setPassword(settings.get("datagen.password"));
+            dataSource.setMaximumPoolSize(threads + 1);
+            BulkLoader loader = new BulkLoader(dataSource, threads,
+                Integer.parseInt(settings.getOrDefault("datagen.rows-per-statement", "500")),
+                Integer.parseInt(settings.getOrDefault("datagen.statements-per-batch", "8")),
+                Integer.parseInt(settings.getOrDefault("datagen.rows-per-commit", "100000")));
+            loader.load(tables, schema.afterLoad(data), System.out);
+        }
+    }
+    
+    // Helper methods
+    private static TargetSchema schema(Map<String, String> settings) {
+        String target = settings.getOrDefault("datagen.target", "store");
+        switch (target) {
+            case "store":
+                return new StoreSchema("TABLE".equalsIgnoreCase(settings.get("datagen.sequences")));
+            case "erdiagram":
+                return new ErDiagramSchema(Boolean.parseBoolean(settings.getOrDefault("datagen.identity-insert", "true")));
+            default:
+                throw new IllegalArgumentException("Unknown datagen.target: " + target);
+        }
+    }
+    
+    private static void generateOnly(List<TableSpec> tables) {
+        for (TableSpec table : tables) {
+            long[] rows = new long[1];
+            long start = System.nanoTime();
+            for (long sourceId = 1; sourceId <= table.sourceCount(); sourceId++) {
+                table.emitter().emit(sourceId, values -> rows[0]++);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%-14s %,13d rows %8.1f s %,12.0f rows/s (generated only)%n",
+                table.name(), rows[0], seconds, rows[0] / seconds);
+        }
+    }
+}
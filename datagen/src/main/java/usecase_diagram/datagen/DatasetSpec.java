@@ -0,0 +1,129 @@
+package usecase_diagram.datagen;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Size, skew and seed of a synthetic dataset, read from datagen.* settings.
+ * The same settings always produce the same rows.
+ */
+public final class DatasetSpec {
+    
+    private final long seed;
+    private final int suppliers;
+    private final int customers;
+    private final int admins;
+    private final int products;
+    private final long orders;
+    private final int maxLinesPerOrder;
+    private final double productSkew;
+    private final double customerSkew;
+    private final double supplierSkew;
+    private final int historyDays;
+    private final LocalDateTime now;
+    private final int minStock;
+    private final int maxStock;
+    private final int inactivePercent;
+    
+    private DatasetSpec(Map<String, String> settings) {
+        seed = Long.parseLong(settings.getOrDefault("datagen.seed", "42"));
+        suppliers = Integer.parseInt(settings.getOrDefault("datagen.suppliers", "1000"));
+        customers = Integer.parseInt(settings.getOrDefault("datagen.customers", "1000000"));
+        admins = Integer.parseInt(settings.getOrDefault("datagen.admins", "10"));
+        products = Integer.parseInt(settings.getOrDefault("datagen.products", "100000"));
+        orders = Long.parseLong(settings.getOrDefault("datagen.orders", "5000000"));
+        maxLinesPerOrder = Integer.parseInt(settings.getOrDefault("datagen.max-lines-per-order", "8"));
+        productSkew = Double.parseDouble(settings.getOrDefault("datagen.product-skew", "1.0"));
+        customerSkew = Double.parseDouble(settings.getOrDefault("datagen.customer-skew", "0.8"));
+        supplierSkew = Double.parseDouble(settings.getOrDefault("datagen.supplier-skew", "1.2"));
+        historyDays = Integer.parseInt(settings.getOrDefault("datagen.history-days", "730"));
+        // A fixed reference time rather than the clock, so reruns produce identical rows
+        now = LocalDateTime.parse(settings.getOrDefault("datagen.now", "2025-01-01T00:00:00"));
+        minStock = Integer.parseInt(settings.getOrDefault("datagen.min-stock", "0"));
+        maxStock = Integer.parseInt(settings.getOrDefault("datagen.max-stock", "500"));
+        inactivePercent = Integer.parseInt(settings.getOrDefault("datagen.inactive-percent", "3"));
+    }
+    
+    /**
+     * Read a spec from datagen.* settings; missing settings take their defaults.
+     */
+    public static DatasetSpec from(Map<String, String> settings) {
+        DatasetSpec spec = new DatasetSpec(settings);
+        if (spec.suppliers < 1 || spec.customers < 1 || spec.products < 1 || spec.orders < 0) {
+            throw new IllegalArgumentException("Dataset needs at least one supplier, customer and product");
+        }
+        if (Math.max(spec.customers, spec.products) >= SyntheticData.MAX_ROWS) {
+            throw new IllegalArgumentException("At most " + SyntheticData.MAX_ROWS + " customers and products are supported");
+        }
+        if (spec.maxLinesPerOrder < 1 || spec.maxLinesPerOrder > spec.products) {
+            throw new IllegalArgumentException("datagen.max-lines-per-order must be between 1 and the number of products");
+        }
+        if (spec.minStock < 0 || spec.maxStock < spec.minStock) {
+            throw new IllegalArgumentException("datagen.min-stock and datagen.max-stock must form a range");
+        }
+        if (spec.inactivePercent < 0 || spec.inactivePercent > 100) {
+            throw new IllegalArgumentException("datagen.inactive-percent must be between 0 and 100");
+        }
+        return spec;
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public int getSuppliers() {
+        return suppliers;
+    }
+    
+    public int getCustomers() {
+        return customers;
+    }
+    
+    public int getAdmins() {
+        return admins;
+    }
+    
+    public int getProducts() {
+        return products;
+    }
+    
+    public long getOrders() {
+        return orders;
+    }
+    
+    public int getMaxLinesPerOrder() {
+        return maxLinesPerOrder;
+    }
+    
+    public double getProductSkew() {
+        return productSkew;
+    }
+    
+    public double getCustomerSkew() {
+        return customerSkew;
+    }
+    
+    public double getSupplierSkew() {
+        return supplierSkew;
+    }
+    
+    public int getHistoryDays() {
+        return historyDays;
+    }
+    
+    public LocalDateTime getNow() {
+        return now;
+    }
+    
+    public int getMinStock() {
+        return minStock;
+    }
+    
+    public int getMaxStock() {
+        return maxStock;
+    }
+    
+    public int getInactivePercent() {
+        return inactivePercent;
+    }
+}
@@ -0,0 +1,101 @@
+package usecase_diagram.datagen;
+
+import usecase_diagram.models.Money;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The tables of dbscript/schema.sql. Ids are inserted explicitly, which on SQL Server
+ * needs IDENTITY_INSERT switched on for the table in each loading session; identities
+ * then continue after the highest loaded id. Suppliers, customers, products and orders
+ * are the same rows as in StoreSchema for the same spec.
+ */
+public class ErDiagramSchema implements TargetSchema {
+    
+    private final boolean identityInsert;
+    
+    public ErDiagramSchema(boolean identityInsert) {
+        this.identityInsert = identityInsert;
+    }
+    
+    @Override
+    public List<TableSpec> tables(SyntheticData data) {
+        DatasetSpec spec = data.getSpec();
+        return List.of(
+            table("Suppliers",
+                List.of("SupplierID", "SupplierName", "ContactName", "Address", "City", "PostalCode", "Country", "Phone"),
+                spec.getSuppliers(),
+                (id, sink) -> {
+                    SyntheticData.SupplierRow supplier = data.supplier(id);
+                    sink.accept(id, supplier.name(), supplier.contactName(), supplier.address(), supplier.city(),
+                        supplier.postalCode(), supplier.country(), supplier.phone());
+                }),
+            table("Customers",
+                List.of("CustomerID", "CompanyName", "ContactName", "ContactTitle", "Address", "City", "PostalCode",
+                    "Country", "Phone"),
+                spec.getCustomers(),
+                (id, sink) -> {
+                    SyntheticData.CustomerRow customer = data.customer(id);
+                    sink.accept(id, customer.companyName(), customer.name(), customer.contactTitle(), customer.address(),
+                        customer.city(), customer.postalCode(), customer.country(), customer.phone());
+                }),
+            table("Products",
+                List.of("ProductsID", "ProductName", "SupplierID", "CategoryID", "QuantityPerUnit", "UnitPrice",
+                    "UnitsInStock", "UnitsOnOrder", "ReorderLevel"),
+                spec.getProducts(),
+                (id, sink) -> {
+                    SyntheticData.ProductRow product = data.product(id);
+                    sink.accept(id, product.name(), product.supplierId(), product.categoryId(), product.quantityPerUnit(),
+                        Money.toDecimal(product.priceMinor()), product.stockQuantity(), product.unitsOnOrder(),
+                        product.reorderLevel());
+                }),
+            table("Orders",
+                List.of("OrderID", "CustomerID", "EmployeeID", "OrderDate", "RequiredDate", "ShippedDate", "ShipVia",
+                    "Freight", "ShipName", "ShipAddress", "ShipCity", "ShipPostCode", "ShipContry"),
+                spec.getOrders(),
+                (id, sink) -> {
+                    SyntheticData.OrderRow order = data.order(id);
+                    SyntheticData.CustomerRow customer = data.customer(order.customerId());
+                    sink.accept(id, order.customerId(), order.employeeId(), order.dateReceived(), order.requiredDate(),
+                        order.shippedDate(), order.shipVia(), Money.toDecimal(order.freightMinor()),
+                        customer.companyName(), customer.address(), customer.city(), customer.postalCode(),
+                        customer.country());
+                }),
+            table("OrderDetails",
+                List.of("OrderDetailsID", "OrderID", "ProductID", "UnitPrice", "Quantity", "Discount"),
+                spec.getOrders(),
+                (orderId, sink) -> {
+                    SyntheticData.OrderRow order = data.order(orderId);
+                    for (int line = 0; line < order.productIds().length; line++) {
+                        sink.accept(data.lineId(orderId, line), orderId, order.productIds()[line],
+                            Money.toDecimal(order.unitPrices()[line]), order.quantities()[line],
+                            BigDecimal.valueOf(order.discountPercents()[line], 2));
+                    }
+                }),
+            // One shipment per shipped order, sharing the order's id
+            table("Shipments",
+                List.of("ShipmentID", "OrderID", "ShipperID", "ShipmentDate"),
+                spec.getOrders(),
+                (orderId, sink) -> {
+                    SyntheticData.OrderRow order = data.order(orderId);
+                    if (order.shippedDate() != null) {
+                        sink.accept(orderId, orderId, order.shipVia(), order.shippedDate());
+                    }
+                }));
+    }
+    
+    @Override
+    public List<String> afterLoad(SyntheticData data) {
+        return List.of();
+    }
+    
+    // Helper methods
+    private TableSpec table(String name, List<String> columns, long sourceCount, TableSpec.RowEmitter emitter) {
+        if (!identityInsert) {
+            return new TableSpec(name, columns, sourceCount, emitter);
+        }
+        return new TableSpec(name, columns, sourceCount, emitter,
+            List.of("SET IDENTITY_INSERT " + name + " ON"), List.of("SET IDENTITY_INSERT " + name + " OFF"));
+    }
+}
@@ -0,0 +1,101 @@
+package usecase_diagram.datagen;
+
+import usecase_diagram.models.User;
+
+import java.util.List;
+
+/**
+ * The tables of the usecase_diagram.models entities, as created by Hibernate with Spring
+ * Boot's naming strategy. Ids are assigned explicitly, so after loading, each entity's id
+ * sequence is moved past the loaded ids, either as a database sequence or, on databases
+ * without sequences, as Hibernate's single-row sequence table.
+ */
+public class StoreSchema implements TargetSchema {
+    
+    // Placeholder that no password check accepts; synthetic users are not meant to sign in
+    private static final String NO_PASSWORD = "!synthetic";
+    
+    private final boolean sequenceTables;
+    
+    public StoreSchema(boolean sequenceTables) {
+        this.sequenceTables = sequenceTables;
+    }
+    
+    @Override
+    public List<TableSpec> tables(SyntheticData data) {
+        DatasetSpec spec = data.getSpec();
+        return List.of(
+            new TableSpec("customers",
+                List.of("id", "name", "email", "address", "phone_number", "credit_rating", "created_at", "updated_at"),
+                spec.getCustomers(),
+                (id, sink) -> {
+                    SyntheticData.CustomerRow customer = data.customer(id);
+                    sink.accept(id, customer.name(), customer.email(),
+                        customer.address() + ", " + customer.postalCode() + " " + customer.city() + ", " + customer.country(),
+                        customer.phone(), customer.creditRating(), customer.createdAt(), customer.createdAt());
+                }),
+            new TableSpec("users",
+                List.of("id", "username", "email", "password", "role", "is_active", "customer_id", "created_at", "updated_at"),
+                (long) spec.getCustomers() + spec.getAdmins(),
+                (id, sink) -> {
+                    if (id <= spec.getCustomers()) {
+                        SyntheticData.CustomerRow customer = data.customer(id);
+                        sink.accept(id, "customer" + id, customer.email(), NO_PASSWORD, User.UserRole.VISITOR.name(),
+                            true, id, customer.createdAt(), customer.createdAt());
+                    } else {
+                        long admin = id - spec.getCustomers();
+                        sink.accept(id, "admin" + admin, "admin" + admin + "@example.com", NO_PASSWORD,
+                            User.UserRole.ADMIN.name(), true, null, spec.getNow(), spec.getNow());
+                    }
+                }),
+            new TableSpec("products",
+                List.of("id", "sku", "name", "description", "price_minor", "stock_quantity", "category", "is_active",
+                    "created_at", "updated_at"),
+                spec.getProducts(),
+                (id, sink) -> {
+                    SyntheticData.ProductRow product = data.product(id);
+                    sink.accept(id, product.sku(), product.name(), product.description(), product.priceMinor(),
+                        product.stockQuantity(), product.category(), product.active(), product.createdAt(),
+                        product.createdAt());
+                }),
+            new TableSpec("orders",
+                List.of("id", "order_number", "date_received", "is_prepaid", "total_price_minor", "status", "customer_id",
+                    "created_at", "updated_at"),
+                spec.getOrders(),
+                (id, sink) -> {
+                    SyntheticData.OrderRow order = data.order(id);
+                    sink.accept(id, order.orderNumber(), order.dateReceived(), order.prepaid(), order.totalPriceMinor(),
+                        order.status().name(), order.customerId(), order.dateReceived(),
+                        order.shippedDate() != null ? order.shippedDate() : order.dateReceived());
+                }),
+            new TableSpec("order_lines",
+                List.of("id", "order_id", "product_id", "quantity", "unit_price_minor"),
+                spec.getOrders(),
+                (orderId, sink) -> {
+                    SyntheticData.OrderRow order = data.order(orderId);
+                    for (int line = 0; line < order.productIds().length; line++) {
+                        sink.accept(data.lineId(orderId, line), orderId, order.productIds()[line],
+                            order.quantities()[line], order.unitPrices()[line]);
+                    }
+                }));
+    }
+    
+    @Override
+    public List<String> afterLoad(SyntheticData data) {
+        DatasetSpec spec = data.getSpec();
+        return List.of(
+            restartSequence("customers_seq", spec.getCustomers() + 1L),
+            restartSequence("users_seq", (long) spec.getCustomers() + spec.getAdmins() + 1),
+            restartSequence("products_seq", spec.getProducts() + 1L),
+            restartSequence("orders_seq", spec.getOrders() + 1),
+            restartSequence("order_lines_seq", data.lineId(spec.getOrders() + 1, 0)));
+    }
+    
+    // Helper methods
+    private String restartSequence(String sequence, long next) {
+        if (sequenceTables) {
+            return "UPDATE " + sequence + " SET next_val = " + next;
+        }
+        return "ALTER SEQUENCE " + sequence + " RESTART WITH " + next;
+    }
+}
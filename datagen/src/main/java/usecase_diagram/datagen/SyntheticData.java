@@ -0,0 +1,322 @@
+package usecase_diagram.datagen;
+
+import usecase_diagram.models.Money;
+import usecase_diagram.models.Order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Synthetic suppliers, customers, products and orders described by a DatasetSpec.
+ * Every row is a pure function of the seed and its id, drawn from a random stream of its
+ * own, so rows can be generated in any order, in parallel and without holding earlier ones
+ * in memory, and the same id always yields the same row. Skew comes from Zipf
+ * distributions: a few products are in most order lines, a few customers place a large
+ * share of the orders and a few suppliers carry most products. Popularity ranks are
+ * scattered over the ids so the popular rows are not simply the first ones.
+ */
+public final class SyntheticData {
+    
+    // Popularity ranks map to ids by multiplying by this prime modulo the row count
+    static final int MAX_ROWS = 1_000_000_007;
+    private static final long SCATTER_PRIME = MAX_ROWS;
+    
+    private static final long SUPPLIER = 1;
+    private static final long CUSTOMER = 2;
+    private static final long PRODUCT = 3;
+    private static final long PRICE = 4;
+    private static final long ORDER = 5;
+    
+    public static final List<String> CATEGORIES = List.of(
+        "Electronics", "Kitchen", "Garden", "Toys", "Books", "Sports", "Clothing", "Office");
+    public static final List<String> PRODUCT_NOUNS = List.of(
+        "Speaker", "Kettle", "Planter", "Puzzle", "Notebook", "Bottle", "Jacket", "Lamp",
+        "Headphones", "Blender", "Hose", "Robot", "Novel", "Racket", "Scarf", "Stapler");
+    private static final List<String> PRODUCT_ADJECTIVES = List.of(
+        "Compact", "Wireless", "Stainless", "Organic", "Portable", "Classic", "Deluxe", "Smart",
+        "Vintage", "Ergonomic", "Foldable", "Rechargeable");
+    private static final List<String> PACK_SIZES = List.of(
+        "1 unit", "2 units", "6 units", "12 units", "1 box", "10 boxes x 20 bags", "24 - 12 oz bottles");
+    private static final List<String> FIRST_NAMES = List.of(
+        "Maria", "Ana", "Antonio", "Thomas", "Christina", "Hanna", "Frederique", "Martin", "Yoshi",
+        "Charlotte", "Regina", "Shelley", "Liam", "Olivia", "Noah", "Emma", "Mateo", "Sofia", "Arjun", "Mei");
+    private static final List<String> LAST_NAMES = List.of(
+        "Anders", "Trujillo", "Moreno", "Hardy", "Berglund", "Moos", "Citeaux", "Sommer", "Nagase",
+        "Cooper", "Murphy", "Burke", "Smith", "Garcia", "Muller", "Rossi", "Kowalski", "Tanaka", "Patel", "Chen");
+    private static final List<String> COMPANY_SUFFIXES = List.of(
+        "Trading", "Delikatessen", "Imports", "& Sons", "Market", "Supplies", "GmbH", "Ltd.");
+    private static final List<String> CONTACT_TITLES = List.of(
+        "Owner", "Sales Representative", "Order Administrator", "Marketing Manager", "Purchasing Agent");
+    private static final List<String> STREETS = List.of(
+        "Main Street", "Obere Str.", "Hanover Sq.", "Mataderos", "Gilbert St.", "Oxford Rd.",
+        "Calle del Rosal", "place Kleber", "Forsterstr.", "Berguvsvagen");
+    private static final List<String[]> CITIES = List.of(
+        new String[] {"Berlin", "Germany"}, new String[] {"London", "UK"}, new String[] {"Madrid", "Spain"},
+        new String[] {"Mexico D.F.", "Mexico"}, new String[] {"Lulea", "Sweden"}, new String[] {"Strasbourg", "France"},
+        new String[] {"New Orleans", "USA"}, new String[] {"Ann Arbor", "USA"}, new String[] {"Tokyo", "Japan"},
+        new String[] {"Oviedo", "Spain"}, new String[] {"Toronto", "Canada"}, new String[] {"Melbourne", "Australia"});
+    
+    // Lines per order: 1 to 8, most orders small
+    private static final int[] LINE_COUNT_PERCENT = {40, 25, 15, 8, 5, 3, 2, 2};
+    
+    private final DatasetSpec spec;
+    private final ZipfDistribution productPopularity;
+    private final ZipfDistribution customerActivity;
+    private final ZipfDistribution supplierSize;
+    private final LocalDateTime historyStart;
+    
+    public SyntheticData(DatasetSpec spec) {
+        this.spec = spec;
+        this.productPopularity = new ZipfDistribution(spec.getProducts(), spec.getProductSkew());
+        this.customerActivity = new ZipfDistribution(spec.getCustomers(), spec.getCustomerSkew());
+        this.supplierSize = new ZipfDistribution(spec.getSuppliers(), spec.getSupplierSkew());
+        this.historyStart = spec.getNow().minusDays(spec.getHistoryDays());
+    }
+    
+    public DatasetSpec getSpec() {
+        return spec;
+    }
+    
+    public SupplierRow supplier(long id) {
+        SplittableRandom random = random(SUPPLIER, id);
+        String lastName = pick(random, LAST_NAMES);
+        String[] city = pick(random, CITIES);
+        return new SupplierRow(id,
+            lastName + " " + pick(random, COMPANY_SUFFIXES),
+            pick(random, FIRST_NAMES) + " " + lastName,
+            street(random), city[0], postalCode(random), city[1], phone(random));
+    }
+    
+    public CustomerRow customer(long id) {
+        SplittableRandom random = random(CUSTOMER, id);
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, LAST_NAMES);
+        String name = firstName + " " + lastName;
+        String[] city = pick(random, CITIES);
+        int rating = random.nextInt(100);
+        // Customers all exist before the order history starts
+        LocalDateTime createdAt = historyStart.minusSeconds(random.nextLong(365L * 24 * 3600));
+        return new CustomerRow(id, name,
+            random.nextInt(4) == 0 ? lastName + " " + pick(random, COMPANY_SUFFIXES) : name,
+            pick(random, CONTACT_TITLES),
+            (firstName + "." + lastName).toLowerCase(Locale.ROOT) + "." + id + "@example.com",
+            street(random), city[0], postalCode(random), city[1], phone(random),
+            rating < 30 ? "A" : rating < 75 ? "B" : rating < 95 ? "C" : "D",
+            createdAt);
+    }
+    
+    public ProductRow product(long id) {
+        SplittableRandom random = random(PRODUCT, id);
+        int noun = random.nextInt(PRODUCT_NOUNS.size());
+        int category = noun % CATEGORIES.size();
+        String name = pick(random, PRODUCT_ADJECTIVES) + " " + PRODUCT_NOUNS.get(noun)
+            + " " + (char) ('A' + random.nextInt(26)) + (100 + random.nextInt(900));
+        int stock = spec.getMinStock() + random.nextInt(spec.getMaxStock() - spec.getMinStock() + 1);
+        return new ProductRow(id,
+            "SKU-" + zeroPadded(id, 9),
+            name,
+            name + " for everyday use, category " + CATEGORIES.get(category).toLowerCase(Locale.ROOT),
+            category + 1,
+            CATEGORIES.get(category),
+            scatter(supplierSize.sample(random), spec.getSuppliers()),
+            pick(random, PACK_SIZES),
+            priceMinor(id),
+            stock,
+            stock < 20 ? 10 * (1 + random.nextInt(10)) : 0,
+            5 * random.nextInt(7),
+            random.nextInt(100) >= spec.getInactivePercent(),
+            historyStart.minusSeconds(random.nextLong(365L * 24 * 3600)));
+    }
+    
+    /**
+     * Price of a product in minor units, roughly log-normal around 25.00 and ending in .99.
+     */
+    public long priceMinor(long productId) {
+        SplittableRandom random = random(PRICE, productId);
+        double price = Math.exp(Math.log(2500) + 0.9 * random.nextGaussian());
+        long wholeUnits = Math.max(0, Math.min(4999, (long) (price / 100)));
+        return wholeUnits * 100 + 99;
+    }
+    
+    /**
+     * An order and its lines. Ids grow with the date received, so the newest orders have the
+     * highest ids, and the status follows from the order's age.
+     */
+    public OrderRow order(long id) {
+        SplittableRandom random = random(ORDER, id);
+        long spanSeconds = spec.getHistoryDays() * 24L * 3600;
+        long stepSeconds = Math.max(1, spanSeconds / Math.max(1, spec.getOrders()));
+        long offsetSeconds = (long) ((double) (id - 1) / spec.getOrders() * spanSeconds) + random.nextLong(stepSeconds);
+        LocalDateTime dateReceived = historyStart.plusSeconds(offsetSeconds);
+        long ageHours = (spanSeconds - offsetSeconds) / 3600;
+        
+        Order.OrderStatus status;
+        int draw = random.nextInt(100);
+        if (ageHours < 24) {
+            status = draw < 60 ? Order.OrderStatus.PENDING : Order.OrderStatus.CONFIRMED;
+        } else if (ageHours < 72) {
+            status = draw < 50 ? Order.OrderStatus.PROCESSING : Order.OrderStatus.SHIPPED;
+        } else if (ageHours < 240) {
+            status = draw < 30 ? Order.OrderStatus.SHIPPED : Order.OrderStatus.DELIVERED;
+        } else {
+            status = draw < 5 ? Order.OrderStatus.CANCELLED : Order.OrderStatus.DELIVERED;
+        }
+        LocalDateTime shippedDate = null;
+        if (status == Order.OrderStatus.SHIPPED || status == Order.OrderStatus.DELIVERED) {
+            shippedDate = dateReceived.plusHours(24 + random.nextInt(48));
+            if (shippedDate.isAfter(spec.getNow())) {
+                shippedDate = spec.getNow();
+            }
+        }
+        
+        int lineCount = lineCount(random);
+        long[] productIds = new long[lineCount];
+        int[] quantities = new int[lineCount];
+        long[] unitPrices = new long[lineCount];
+        int[] discountPercents = new int[lineCount];
+        long totalPriceMinor = 0;
+        for (int line = 0; line < lineCount; line++) {
+            productIds[line] = distinctProduct(random, productIds, line);
+            quantities[line] = random.nextInt(10) < 7 ? 1 : 2 + random.nextInt(4);
+            unitPrices[line] = priceMinor(productIds[line]);
+            discountPercents[line] = random.nextInt(100) < 85 ? 0 : 5 * (1 + random.nextInt(4));
+            totalPriceMinor = Money.add(totalPriceMinor, Money.lineTotal(unitPrices[line], quantities[line]));
+        }
+        
+        return new OrderRow(id,
+            "SYN-" + zeroPadded(id, 12),
+            scatter(customerActivity.sample(random), spec.getCustomers()),
+            1 + random.nextInt(9),
+            dateReceived,
+            dateReceived.plusDays(7),
+            shippedDate,
+            1 + random.nextInt(3),
+            500 + random.nextInt(5000),
+            random.nextInt(10) < 7,
+            status,
+            totalPriceMinor,
+            productIds, quantities, unitPrices, discountPercents);
+    }
+    
+    /**
+     * Id of the line'th line of an order. Each order owns a block of max-lines-per-order ids,
+     * so line ids are known without generating earlier orders.
+     */
+    public long lineId(long orderId, int line) {
+        return (orderId - 1) * spec.getMaxLinesPerOrder() + line + 1;
+    }
+    
+    /**
+     * Draw a product id with the dataset's popularity skew, e.g. for load generation.
+     */
+    public long popularProduct(RandomGenerator random) {
+        return scatter(productPopularity.sample(random), spec.getProducts());
+    }
+    
+    /**
+     * Draw a customer id with the dataset's activity skew.
+     */
+    public long activeCustomer(RandomGenerator random) {
+        return scatter(customerActivity.sample(random), spec.getCustomers());
+    }
+    
+    // Helper methods
+    private SplittableRandom random(long stream, long id) {
+        // One independent stream per row: SplittableRandom mixes its seed before use
+        return new SplittableRandom((spec.getSeed() * 31 + stream) * 0x9E3779B97F4A7C15L + id);
+    }
+    
+    private static long scatter(int rank, int rows) {
+        return (rank - 1) * SCATTER_PRIME % rows + 1;
+    }
+    
+    private int lineCount(SplittableRandom random) {
+        int draw = random.nextInt(100);
+        int lines = 1;
+        for (int percent : LINE_COUNT_PERCENT) {
+            draw -= percent;
+            if (draw < 0) {
+                break;
+            }
+            lines++;
+        }
+        return Math.min(lines, spec.getMaxLinesPerOrder());
+    }
+    
+    /**
+     * A popular product not yet on the order; falls back to the next free id when the
+     * draws keep hitting products already on it.
+     */
+    private long distinctProduct(SplittableRandom random, long[] chosen, int count) {
+        long productId = popularProduct(random);
+        for (int attempt = 0; attempt < 16 && contains(chosen, count, productId); attempt++) {
+            productId = popularProduct(random);
+        }
+        while (contains(chosen, count, productId)) {
+            productId = productId % spec.getProducts() + 1;
+        }
+        return productId;
+    }
+    
+    private static boolean contains(long[] values, int count, long value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static <T> T pick(SplittableRandom random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+    
+    private static String street(SplittableRandom random) {
+        return (1 + random.nextInt(999)) + " " + pick(random, STREETS);
+    }
+    
+    private static String postalCode(SplittableRandom random) {
+        return zeroPadded(random.nextInt(100_000), 5);
+    }
+    
+    private static String phone(SplittableRandom random) {
+        return "(" + (100 + random.nextInt(900)) + ") 555-" + zeroPadded(random.nextInt(10_000), 4);
+    }
+    
+    // String.format is several times slower and dominated generation of the text-heavy tables
+    private static String zeroPadded(long value, int width) {
+        String digits = Long.toString(value);
+        if (digits.length() >= width) {
+            return digits;
+        }
+        return "0".repeat(width - digits.length()) + digits;
+    }
+    
+    public record SupplierRow(long id, String name, String contactName, String address, String city,
+                              String postalCode, String country, String phone) {
+    }
+    
+    public record CustomerRow(long id, String name, String companyName, String contactTitle, String email,
+                              String address, String city, String postalCode, String country, String phone,
+                              String creditRating, LocalDateTime createdAt) {
+    }
+    
+    public record ProductRow(long id, String sku, String name, String description, int categoryId,
+                             String category, long supplierId, String quantityPerUnit, long priceMinor,
+                             int stockQuantity, int unitsOnOrder, int reorderLevel, boolean active,
+                             LocalDateTime createdAt) {
+    }
+    
+    /**
+     * An order with its lines as parallel arrays, index i being line i.
+     */
+    public record OrderRow(long id, String orderNumber, long customerId, int employeeId,
+                           LocalDateTime dateReceived, LocalDateTime requiredDate, LocalDateTime shippedDate,
+                           int shipVia, long freightMinor, boolean prepaid, Order.OrderStatus status,
+                           long totalPriceMinor, long[] productIds, int[] quantities, long[] unitPrices,
+                           int[] discountPercents) {
+    }
+}
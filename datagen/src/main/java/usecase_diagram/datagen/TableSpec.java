@@ -0,0 +1,30 @@
+package usecase_diagram.datagen;
+
+import java.util.List;
+
+/**
+ * A table to load: its columns and how to produce its rows. Rows are produced per source
+ * id, 1 to sourceCount, and one source id may yield any number of rows, e.g. one order
+ * yields all its lines. Each loading connection runs the before statements before its
+ * first row and the after statements after its last one.
+ */
+public record TableSpec(String name, List<String> columns, long sourceCount, RowEmitter emitter,
+                        List<String> before, List<String> after) {
+    
+    public TableSpec(String name, List<String> columns, long sourceCount, RowEmitter emitter) {
+        this(name, columns, sourceCount, emitter, List.of(), List.of());
+    }
+    
+    /**
+     * Produces the rows of one source id, values in column order.
+     */
+    @FunctionalInterface
+    public interface RowEmitter {
+        void emit(long sourceId, RowSink sink);
+    }
+    
+    @FunctionalInterface
+    public interface RowSink {
+        void accept(Object... values);
+    }
+}
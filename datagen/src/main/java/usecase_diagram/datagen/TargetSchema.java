@@ -0,0 +1,19 @@
+package usecase_diagram.datagen;
+
+import java.util.List;
+
+/**
+ * A database layout the synthetic dataset can be loaded into.
+ */
+public interface TargetSchema {
+    
+    /**
+     * Tables in load order, referenced tables first.
+     */
+    List<TableSpec> tables(SyntheticData data);
+    
+    /**
+     * Statements to run once every table is loaded.
+     */
+    List<String> afterLoad(SyntheticData data);
+}
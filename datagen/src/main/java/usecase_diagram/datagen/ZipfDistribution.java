@@ -0,0 +1,95 @@
+package usecase_diagram.datagen;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf distribution over ranks 1..n: rank k is drawn with probability proportional to
+ * 1 / k^exponent. Sampling is O(1) without tables, using rejection-inversion
+ * (Hormann and Derflinger, "Rejection-inversion to generate variates from monotone
+ * discrete distributions", 1996), so it works for millions of ranks.
+ */
+public final class ZipfDistribution {
+    
+    private final int numberOfElements;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralNumberOfElements;
+    private final double s;
+    
+    public ZipfDistribution(int numberOfElements, double exponent) {
+        if (numberOfElements < 1 || exponent <= 0) {
+            throw new IllegalArgumentException("Zipf distribution needs at least one element and a positive exponent");
+        }
+        this.numberOfElements = numberOfElements;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1;
+        this.hIntegralNumberOfElements = hIntegral(numberOfElements + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+    
+    /**
+     * Draw a rank, 1 being the most likely.
+     */
+    public int sample(RandomGenerator random) {
+        while (true) {
+            double u = hIntegralNumberOfElements + random.nextDouble() * (hIntegralX1 - hIntegralNumberOfElements);
+            double x = hIntegralInverse(u);
+            int k = (int) (x + 0.5);
+            if (k < 1) {
+                k = 1;
+            } else if (k > numberOfElements) {
+                k = numberOfElements;
+            }
+            // Accept right away when k is close to x, otherwise compare against the exact mass of k
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+    
+    public int getNumberOfElements() {
+        return numberOfElements;
+    }
+    
+    // Helper methods
+    /**
+     * Integral of h from 1 to x, shifted so that it is continuous in the exponent at 1.
+     */
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1 - exponent) * logX) * logX;
+    }
+    
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+    
+    private double hIntegralInverse(double x) {
+        double t = x * (1 - exponent);
+        if (t < -1) {
+            // Rounding can push t just below -1
+            t = -1;
+        }
+        return Math.exp(helper1(t) * x);
+    }
+    
+    /**
+     * log(1 + x) / x, accurate near 0.
+     */
+    private static double helper1(double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.log1p(x) / x;
+        }
+        return 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+    
+    /**
+     * (exp(x) - 1) / x, accurate near 0.
+     */
+    private static double helper2(double x) {
+        if (Math.abs(x) > 1e-8) {
+            return Math.expm1(x) / x;
+        }
+        return 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+    }
+}
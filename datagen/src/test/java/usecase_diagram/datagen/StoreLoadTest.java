@@ -0,0 +1,149 @@
+package usecase_diagram.datagen;
+
+import usecase_diagram.models.Customer;
+import usecase_diagram.models.Order;
+import usecase_diagram.models.OrderLine;
+import usecase_diagram.models.Product;
+import usecase_diagram.models.User;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Loads a small dataset into the store tables on H2, created from the entities the way
+ * Hibernate creates them for the application.
+ */
+class StoreLoadTest {
+    
+    private static final int CUSTOMERS = 200;
+    private static final int ADMINS = 3;
+    private static final int PRODUCTS = 50;
+    private static final int ORDERS = 500;
+    private static final List<String> TABLES = List.of("customers", "users", "products", "orders", "order_lines");
+    
+    @Test
+    void loadsTheRequestedNumberOfRows() throws SQLException {
+        SyntheticData data = new SyntheticData(spec(42));
+        long lines = 0;
+        for (long orderId = 1; orderId <= ORDERS; orderId++) {
+            lines += data.order(orderId).productIds().length;
+        }
+        
+        try (HikariDataSource dataSource = dataSource("counts")) {
+            load(dataSource, data, 2);
+            assertEquals(CUSTOMERS, count(dataSource, "customers"));
+            assertEquals(CUSTOMERS + ADMINS, count(dataSource, "users"));
+            assertEquals(PRODUCTS, count(dataSource, "products"));
+            assertEquals(ORDERS, count(dataSource, "orders"));
+            assertEquals(lines, count(dataSource, "order_lines"));
+        }
+    }
+    
+    @Test
+    void sameSeedLoadsTheSameRowsWithAnyThreadCount() throws SQLException {
+        Map<String, List<String>> first;
+        Map<String, List<String>> second;
+        Map<String, List<String>> otherSeed;
+        try (HikariDataSource dataSource = dataSource("seed-a")) {
+            load(dataSource, new SyntheticData(spec(42)), 1);
+            first = dump(dataSource);
+        }
+        try (HikariDataSource dataSource = dataSource("seed-b")) {
+            load(dataSource, new SyntheticData(spec(42)), 3);
+            second = dump(dataSource);
+        }
+        try (HikariDataSource dataSource = dataSource("seed-c")) {
+            load(dataSource, new SyntheticData(spec(7)), 1);
+            otherSeed = dump(dataSource);
+        }
+        
+        assertEquals(first, second);
+        assertNotEquals(first, otherSeed);
+    }
+    
+    // Helper methods
+    private static DatasetSpec spec(long seed) {
+        return DatasetSpec.from(Map.of(
+            "datagen.seed", String.valueOf(seed),
+            "datagen.suppliers", "10",
+            "datagen.customers", String.valueOf(CUSTOMERS),
+            "datagen.admins", String.valueOf(ADMINS),
+            "datagen.products", String.valueOf(PRODUCTS),
+            "datagen.orders", String.valueOf(ORDERS)));
+    }
+    
+    private static HikariDataSource dataSource(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(4);
+        return dataSource;
+    }
+    
+    private static void load(DataSource dataSource, SyntheticData data, int threads) {
+        createStoreSchema(dataSource);
+        StoreSchema schema = new StoreSchema(false);
+        new BulkLoader(dataSource, threads, 100, 4, 1000)
+            .load(schema.tables(data), schema.afterLoad(data), System.out);
+    }
+    
+    private static void createStoreSchema(DataSource dataSource) {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+            .applySetting(AvailableSettings.DATASOURCE, dataSource)
+            .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY, CamelCaseToUnderscoresNamingStrategy.class.getName())
+            .applySetting(AvailableSettings.HBM2DDL_AUTO, "create")
+            .build();
+        // Building the session factory creates the tables and sequences; closing it leaves them
+        new MetadataSources(registry)
+            .addAnnotatedClasses(Customer.class, User.class, Product.class, Order.class, OrderLine.class)
+            .buildMetadata()
+            .buildSessionFactory()
+            .close();
+    }
+    
+    private static long count(DataSource dataSource, String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+    
+    private static Map<String, List<String>> dump(DataSource dataSource) throws SQLException {
+        Map<String, List<String>> tables = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                List<String> rows = new ArrayList<>();
+                try (ResultSet result = statement.executeQuery("SELECT * FROM " + table + " ORDER BY id")) {
+                    int columns = result.getMetaData().getColumnCount();
+                    while (result.next()) {
+                        StringBuilder row = new StringBuilder();
+                        for (int column = 1; column <= columns; column++) {
+                            row.append(result.getObject(column)).append('|');
+                        }
+                        rows.add(row.toString());
+                    }
+                }
+                tables.put(table, rows);
+            }
+        }
+        return tables;
+    }
+}
@@ -0,0 +1,143 @@
+package usecase_diagram.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and outcome counts per operation.
+ * Latency is measured from the time a request was scheduled to be sent, not from when it
+ * was actually sent, so a stalled server or generator shows up as latency instead of being
+ * hidden by fewer requests (coordinated omission). Only successful responses are recorded
+ * in the histograms; rejected and failed requests are counted separately.
+ */
+public class LatencyReport {
+    
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private volatile long startNanos;
+    private volatile long endNanos;
+    
+    // Final histograms, taken once the run is over
+    private Map<Operation, Histogram> histograms;
+    
+    public LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+    
+    public void start(long now) {
+        startNanos = now;
+    }
+    
+    public void stop(long now) {
+        endNanos = now;
+    }
+    
+    /**
+     * Record a completed request; status 0 means it failed without a response.
+     */
+    public void record(Operation operation, long intendedStartNanos, long endNanos, int status) {
+        Stats operationStats = stats.get(operation);
+        if (status >= 200 && status < 300 || status == 304) {
+            operationStats.latency.recordValue(Math.max(1, endNanos - intendedStartNanos));
+        } else if (status == 429 || status == 503) {
+            operationStats.shed.increment();
+        } else {
+            operationStats.failed.increment();
+        }
+    }
+    
+    /**
+     * Record a request that was never sent because too many were already in flight.
+     */
+    public void dropped(Operation operation) {
+        stats.get(operation).dropped.increment();
+    }
+    
+    /**
+     * Print the per-operation summary and check the objectives.
+     * @return the objectives that were missed, empty if all were met
+     */
+    public List<String> evaluate(List<LoadSettings.Slo> slos, PrintStream out) {
+        double seconds = Math.max(1, endNanos - startNanos) / 1e9;
+        Map<Operation, Histogram> histograms = histograms();
+        
+        out.printf("%-26s %9s %9s %7s %7s %7s %10s %10s %10s %10s%n", "Operation", "OK", "req/s",
+            "shed", "failed", "dropped", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            Stats operationStats = stats.get(operation);
+            out.printf("%-26s %9d %9.1f %7d %7d %7d %10.2f %10.2f %10.2f %10.2f%n", operation.getRoute(),
+                histogram.getTotalCount(), histogram.getTotalCount() / seconds,
+                operationStats.shed.sum(), operationStats.failed.sum(), operationStats.dropped.sum(),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+        }
+        
+        List<String> missed = new ArrayList<>();
+        for (LoadSettings.Slo slo : slos) {
+            Histogram histogram = histograms.get(slo.operation());
+            Stats operationStats = stats.get(slo.operation());
+            if (slo.isErrorRate()) {
+                long errors = operationStats.shed.sum() + operationStats.failed.sum() + operationStats.dropped.sum();
+                long total = histogram.getTotalCount() + errors;
+                double errorRate = total == 0 ? 0 : (double) errors / total;
+                if (errorRate > slo.limit()) {
+                    missed.add(String.format("%s error rate %.4f > %.4f", slo.operation().getRoute(), errorRate, slo.limit()));
+                }
+            } else {
+                double actual = millis(histogram.getValueAtPercentile(slo.percentileValue()));
+                if (histogram.getTotalCount() == 0 || actual > slo.limit()) {
+                    missed.add(String.format("%s %s %.2f ms > %.2f ms",
+                        slo.operation().getRoute(), slo.percentile(), actual, slo.limit()));
+                }
+            }
+        }
+        return missed;
+    }
+    
+    /**
+     * Write each operation's full percentile distribution, in milliseconds, to a directory.
+     */
+    public void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Operation, Histogram> entry : histograms().entrySet()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(entry.getKey().getKey() + ".hgrm")))) {
+                entry.getValue().outputPercentileDistribution(out, (double) TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+    }
+    
+    // Helper methods
+    private synchronized Map<Operation, Histogram> histograms() {
+        if (histograms == null) {
+            histograms = new EnumMap<>(Operation.class);
+            stats.forEach((operation, operationStats) ->
+                histograms.put(operation, operationStats.latency.getIntervalHistogram()));
+        }
+        return histograms;
+    }
+    
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+    
+    private static final class Stats {
+        // Auto-resizing, 3 significant digits
+        private final Recorder latency = new Recorder(3);
+        private final LongAdder shed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+    }
+}
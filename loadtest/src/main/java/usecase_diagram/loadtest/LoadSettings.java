@@ -0,0 +1,127 @@
+package usecase_diagram.loadtest;
+
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test settings, read from the same environment as the store's own properties so they
+ * can be passed as --loadtest.*=... arguments next to --store.*=... ones.
+ */
+public final class LoadSettings {
+    
+    private static final String[] PERCENTILES = {"p50", "p99", "p999"};
+    
+    private final double requestsPerSecond;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int maxInFlight;
+    private final long seed;
+    private final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    private final List<Slo> slos = new ArrayList<>();
+    private final String reportDir;
+    
+    private LoadSettings(Environment environment) {
+        requestsPerSecond = environment.getProperty("loadtest.rate", Double.class, 200.0);
+        warmup = environment.getProperty("loadtest.warmup", Duration.class, Duration.ofSeconds(30));
+        duration = environment.getProperty("loadtest.duration", Duration.class, Duration.ofSeconds(120));
+        maxInFlight = environment.getProperty("loadtest.max-in-flight", Integer.class, 5000);
+        seed = environment.getProperty("loadtest.seed", Long.class, 42L);
+        reportDir = environment.getProperty("loadtest.report-dir");
+        
+        // Default mix: mostly browsing, some ordering and order tracking, a little admin work
+        mix.put(Operation.CATALOG, environment.getProperty("loadtest.mix.catalog", Integer.class, 30));
+        mix.put(Operation.PRODUCT, environment.getProperty("loadtest.mix.product", Integer.class, 25));
+        mix.put(Operation.SEARCH, environment.getProperty("loadtest.mix.search", Integer.class, 10));
+        mix.put(Operation.PLACE_ORDER, environment.getProperty("loadtest.mix.place-order", Integer.class, 15));
+        mix.put(Operation.POLL_ORDER, environment.getProperty("loadtest.mix.poll-order", Integer.class, 15));
+        mix.put(Operation.ADMIN_LIST, environment.getProperty("loadtest.mix.admin-list", Integer.class, 5));
+        
+        double defaultErrorRate = environment.getProperty("loadtest.slo.max-error-rate", Double.class, 0.01);
+        for (Operation operation : Operation.values()) {
+            String prefix = "loadtest.slo." + operation.getKey() + ".";
+            for (String percentile : PERCENTILES) {
+                Double maxMillis = environment.getProperty(prefix + percentile + "-ms", Double.class);
+                if (maxMillis != null) {
+                    slos.add(Slo.latency(operation, percentile, maxMillis));
+                }
+            }
+            slos.add(Slo.errorRate(operation,
+                environment.getProperty(prefix + "max-error-rate", Double.class, defaultErrorRate)));
+        }
+    }
+    
+    public static LoadSettings from(Environment environment) {
+        LoadSettings settings = new LoadSettings(environment);
+        if (settings.requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("loadtest.rate must be positive");
+        }
+        if (settings.mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("loadtest.mix.* weights must add up to more than 0");
+        }
+        return settings;
+    }
+    
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+    
+    public Duration getWarmup() {
+        return warmup;
+    }
+    
+    public Duration getDuration() {
+        return duration;
+    }
+    
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+    
+    public List<Slo> getSlos() {
+        return slos;
+    }
+    
+    public String getReportDir() {
+        return reportDir;
+    }
+    
+    /**
+     * One objective for one operation: a latency percentile bound in milliseconds, or a
+     * maximum share of failed requests.
+     */
+    public record Slo(Operation operation, String percentile, double limit) {
+        
+        static Slo latency(Operation operation, String percentile, double maxMillis) {
+            return new Slo(operation, percentile, maxMillis);
+        }
+        
+        static Slo errorRate(Operation operation, double maxErrorRate) {
+            return new Slo(operation, null, maxErrorRate);
+        }
+        
+        public boolean isErrorRate() {
+            return percentile == null;
+        }
+        
+        /**
+         * The percentile as HdrHistogram expects it, e.g. 99.9 for p999.
+         */
+        public double percentileValue() {
+            String digits = percentile.substring(1);
+            return Double.parseDouble(digits.substring(0, 2) + "." + digits.substring(2));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package usecase_diagram.loadtest;
+
+import usecase_diagram.OnlineStoreApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test entry point. Starts OnlineStoreApplication on a random port against an in-memory
+ * H2 database, seeds it with SyntheticDataSeeder, warms up, then drives the configured mix
+ * at a constant arrival rate and prints p50/p99/p999 per endpoint. Exits with status 1 if
+ * any objective in loadtest.slo.* is missed.
+ * Store settings (store.*, spring.datasource.*) are passed as arguments the same way as
+ * to the application, e.g. --spring.datasource.url=... to run against another database.
+ */
+public final class LoadTest {
+    
+    private LoadTest() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        SpringApplication application = new SpringApplication(OnlineStoreApplication.class, SyntheticDataSeeder.class);
+        application.setDefaultProperties(Map.of(
+            "management.endpoints.web.exposure.include", "health,prometheus",
+            "spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+            "spring.jpa.hibernate.ddl-auto", "create",
+            "server.port", "0",
+            "logging.level.root", "WARN"));
+        
+        List<String> missed;
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            LoadSettings settings = LoadSettings.from(context.getEnvironment());
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            StoreClient client = new StoreClient(URI.create("http://localhost:" + port),
+                context.getBean(ObjectMapper.class), context.getBean(SyntheticDataSeeder.class).getDataset());
+            OpenLoadGenerator generator = new OpenLoadGenerator(client, settings);
+            
+            System.out.printf("Warming up for %s at %.0f req/s%n", settings.getWarmup(), settings.getRequestsPerSecond());
+            generator.run(settings.getWarmup(), new LatencyReport());
+            
+            System.out.printf("Measuring for %s at %.0f req/s%n", settings.getDuration(), settings.getRequestsPerSecond());
+            LatencyReport report = new LatencyReport();
+            generator.run(settings.getDuration(), report);
+            
+            missed = report.evaluate(settings.getSlos(), System.out);
+            if (settings.getReportDir() != null) {
+                report.writeDistributions(Paths.get(settings.getReportDir()));
+            }
+        }
+        
+        if (!missed.isEmpty()) {
+            System.out.println("Missed objectives:");
+            missed.forEach(objective -> System.out.println("  " + objective));
+            System.exit(1);
+        }
+        System.out.println("All objectives met");
+    }
+}
@@ -0,0 +1,101 @@
+package usecase_diagram.loadtest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests arrive at a constant rate whether or not earlier ones have
+ * completed, like independent users do, so a slow server builds up a queue instead of
+ * quietly receiving less load. Each request is assigned its scheduled send time up front
+ * and its latency is measured from there.
+ */
+public class OpenLoadGenerator {
+    
+    private final StoreClient client;
+    private final double requestsPerSecond;
+    private final int maxInFlight;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Random random;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    public OpenLoadGenerator(StoreClient client, LoadSettings settings) {
+        this.client = client;
+        this.requestsPerSecond = settings.getRequestsPerSecond();
+        this.maxInFlight = settings.getMaxInFlight();
+        this.random = new Random(settings.getSeed());
+        
+        Map<Operation, Integer> mix = settings.getMix();
+        operations = mix.keySet().toArray(new Operation[0]);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += Math.max(0, mix.get(operations[i]));
+            cumulativeWeights[i] = total;
+        }
+    }
+    
+    /**
+     * Generate load for a duration, recording into report, then wait for requests still in flight.
+     */
+    public void run(Duration duration, LatencyReport report) {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        report.start(start);
+        
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart - end >= 0) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            
+            Operation operation = nextOperation();
+            if (inFlight.incrementAndGet() > maxInFlight) {
+                inFlight.decrementAndGet();
+                report.dropped(operation);
+                continue;
+            }
+            try {
+                client.send(operation, random).whenComplete((status, error) -> {
+                    inFlight.decrementAndGet();
+                    report.record(operation, intendedStart, System.nanoTime(), error == null ? status : 0);
+                });
+            } catch (RuntimeException e) {
+                inFlight.decrementAndGet();
+                report.record(operation, intendedStart, System.nanoTime(), 0);
+            }
+        }
+        
+        // Throughput is per second of arrivals; latecomers still count when they complete
+        report.stop(end);
+        awaitInFlight(Duration.ofSeconds(60));
+    }
+    
+    // Helper methods
+    private Operation nextOperation() {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+    
+    private void awaitInFlight(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package usecase_diagram.loadtest;
+
+/**
+ * Requests the load generator sends, grouped into the browse, order and admin mixes.
+ * The key names the operation in loadtest.mix.* and loadtest.slo.* settings.
+ */
+public enum Operation {
+    CATALOG("catalog", "GET /api/products"),
+    PRODUCT("product", "GET /api/products/{id}"),
+    SEARCH("search", "GET /api/products/search"),
+    PLACE_ORDER("place-order", "POST /api/orders"),
+    POLL_ORDER("poll-order", "GET /api/orders/{id}"),
+    ADMIN_LIST("admin-list", "GET /api/orders");
+    
+    private final String key;
+    private final String route;
+    
+    Operation(String key, String route) {
+        this.key = key;
+        this.route = route;
+    }
+    
+    public String getKey() {
+        return key;
+    }
+    
+    public String getRoute() {
+        return route;
+    }
+}
@@ -0,0 +1,155 @@
+package usecase_diagram.loadtest;
+
+import usecase_diagram.datagen.SyntheticData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Sends one request per operation against the running store with the JDK HTTP client.
+ * Requests are asynchronous, so a slow server never slows down the arrival rate.
+ * Orders placed by the test are remembered and polled later, like a customer tracking
+ * a fresh order; until there are any, seeded orders are polled instead.
+ */
+public class StoreClient {
+    
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int RECENT_ORDERS = 4096;
+    
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final SyntheticData dataset;
+    
+    // Paths of recently placed orders: /api/orders/{id}, or the intake status path when journaled
+    private final AtomicReferenceArray<String> recentOrders = new AtomicReferenceArray<>(RECENT_ORDERS);
+    private final AtomicLong placedOrders = new AtomicLong();
+    
+    public StoreClient(URI baseUri, ObjectMapper objectMapper, SyntheticData dataset) {
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.dataset = dataset;
+    }
+    
+    /**
+     * Send the request for an operation, drawing its parameters from random; completes with
+     * the HTTP status code. Called from the single dispatcher thread.
+     */
+    public CompletableFuture<Integer> send(Operation operation, Random random) {
+        switch (operation) {
+            case CATALOG:
+                return get(random.nextInt(4) == 0
+                    ? "/api/products?category=" + pick(random, SyntheticData.CATEGORIES)
+                    : "/api/products?active=true");
+            case PRODUCT:
+                return get("/api/products/" + dataset.popularProduct(random));
+            case SEARCH:
+                String term = pick(random, SyntheticData.PRODUCT_NOUNS).toLowerCase(Locale.ROOT);
+                // Half of the searches are still being typed and end in a prefix
+                String query = random.nextBoolean() ? term : term.substring(0, 1 + random.nextInt(term.length()));
+                return get("/api/products/search?q=" + URLEncoder.encode(query, StandardCharsets.UTF_8));
+            case PLACE_ORDER:
+                return placeOrder(random);
+            case POLL_ORDER:
+                return get(orderToPoll(random));
+            case ADMIN_LIST:
+                return get(random.nextInt(3) == 0 ? "/api/orders?status=PENDING&limit=50" : "/api/orders?limit=50");
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+    
+    // Helper methods
+    private CompletableFuture<Integer> get(String path) {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Accept", "application/json")
+            .header("Accept-Encoding", "gzip")
+            .GET()
+            .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .thenApply(HttpResponse::statusCode);
+    }
+    
+    private CompletableFuture<Integer> placeOrder(Random random) {
+        List<Map<String, Object>> lines = new ArrayList<>();
+        int lineCount = 1 + random.nextInt(4);
+        for (int i = 0; i < lineCount; i++) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("productId", dataset.popularProduct(random));
+            line.put("quantity", 1 + random.nextInt(3));
+            lines.add(line);
+        }
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("customerId", dataset.activeCustomer(random));
+        order.put("isPrepaid", random.nextBoolean());
+        order.put("orderLines", lines);
+        
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(order);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/orders"))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .header("Idempotency-Key", UUID.randomUUID().toString())
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+            .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+            .thenApply(response -> {
+                rememberOrder(response);
+                return response.statusCode();
+            });
+    }
+    
+    private void rememberOrder(HttpResponse<byte[]> response) {
+        String path = null;
+        try {
+            if (response.statusCode() == 201) {
+                path = "/api/orders/" + objectMapper.readTree(response.body()).path("id").asLong();
+            } else if (response.statusCode() == 202) {
+                JsonNode status = objectMapper.readTree(response.body());
+                path = "/api/orders/intake/" + status.path("trackingId").asText();
+            }
+        } catch (IOException e) {
+            return;
+        }
+        if (path != null) {
+            recentOrders.set((int) (placedOrders.getAndIncrement() % RECENT_ORDERS), path);
+        }
+    }
+    
+    private String orderToPoll(Random random) {
+        long placed = Math.min(placedOrders.get(), RECENT_ORDERS);
+        String path = placed > 0 ? recentOrders.get(random.nextInt((int) placed)) : null;
+        return path != null ? path : "/api/orders/" + (1 + random.nextLong(Math.max(1, dataset.getSpec().getOrders())));
+    }
+    
+    private static String pick(Random random, List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
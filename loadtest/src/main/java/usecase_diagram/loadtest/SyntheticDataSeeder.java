@@ -0,0 +1,62 @@
+package usecase_diagram.loadtest;
+
+import usecase_diagram.datagen.BulkLoader;
+import usecase_diagram.datagen.DatasetSpec;
+import usecase_diagram.datagen.StoreSchema;
+import usecase_diagram.datagen.SyntheticData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Seeds the store with a synthetic dataset before the load test starts.
+ * Runs as an ApplicationRunner, i.e. before ApplicationReadyEvent, so the product catalog,
+ * search index and stock ledger are built from the seeded rows. Rows come from the datagen
+ * module and are derived from loadtest.seed, so runs with the same settings see the same
+ * dataset. Stock is generous and every product active, so orders fail only under load.
+ */
+public class SyntheticDataSeeder implements ApplicationRunner {
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @Value("${loadtest.dataset.customers:10000}")
+    private int customerCount;
+    
+    @Value("${loadtest.dataset.products:2000}")
+    private int productCount;
+    
+    @Value("${loadtest.dataset.orders:100000}")
+    private long orderCount;
+    
+    @Value("${loadtest.dataset.threads:4}")
+    private int threads;
+    
+    @Value("${loadtest.seed:42}")
+    private long seed;
+    
+    private SyntheticData dataset;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        SyntheticData data = new SyntheticData(DatasetSpec.from(Map.of(
+            "datagen.seed", String.valueOf(seed),
+            "datagen.customers", String.valueOf(customerCount),
+            "datagen.products", String.valueOf(productCount),
+            "datagen.orders", String.valueOf(orderCount),
+            "datagen.min-stock", "1000000",
+            "datagen.max-stock", "1000000",
+            "datagen.inactive-percent", "0")));
+        StoreSchema schema = new StoreSchema(false);
+        new BulkLoader(dataSource, threads, 500, 8, 100_000).load(schema.tables(data), schema.afterLoad(data), System.out);
+        dataset = data;
+    }
+    
+    public SyntheticData getDataset() {
+        return dataset;
+    }
+}
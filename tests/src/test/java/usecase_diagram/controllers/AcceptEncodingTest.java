@@ -0,0 +1,33 @@
+package usecase_diagram.controllers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Accept-Encoding negotiation of the gzip-compressed product listings.
+ */
+class AcceptEncodingTest {
+    
+    @Test
+    void acceptsGzipListedWithoutOrWithPositiveQuality() {
+        assertTrue(ProductController.acceptsGzip("gzip"));
+        assertTrue(ProductController.acceptsGzip("br, gzip;q=0.5"));
+        assertTrue(ProductController.acceptsGzip("deflate, GZIP ; Q=1"));
+        assertTrue(ProductController.acceptsGzip("*"));
+        assertTrue(ProductController.acceptsGzip("x-gzip"));
+    }
+    
+    @Test
+    void refusesGzipWithZeroQualityOrWhenNotListed() {
+        assertFalse(ProductController.acceptsGzip(null));
+        assertFalse(ProductController.acceptsGzip(""));
+        assertFalse(ProductController.acceptsGzip("gzip;q=0"));
+        assertFalse(ProductController.acceptsGzip("gzip;q=0.000, *"));
+        assertFalse(ProductController.acceptsGzip("*;q=0"));
+        assertFalse(ProductController.acceptsGzip("br, identity"));
+        assertFalse(ProductController.acceptsGzip("notgzip, gzipped"));
+        assertFalse(ProductController.acceptsGzip("gzip;q=abc"));
+    }
+}
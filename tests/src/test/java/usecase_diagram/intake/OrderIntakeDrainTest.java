@@ -0,0 +1,89 @@
+package usecase_diagram.intake;
+
+import usecase_diagram.dto.CreateOrderRequest;
+import usecase_diagram.dto.CreateProductRequest;
+import usecase_diagram.dto.IntakeStatusDTO;
+import usecase_diagram.models.Customer;
+import usecase_diagram.repository.CustomerRepository;
+import usecase_diagram.services.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Draining the journal intake: each run places a bounded number of batches, and orders keep
+ * the time they were accepted however late they are placed.
+ */
+@SpringBootTest(properties = {
+    "store.orders.intake=JOURNAL",
+    "store.orders.intake.journal-dir=${java.io.tmpdir}/order-intake-test-${random.uuid}",
+    "store.orders.intake.drain-interval-ms=3600000",
+    "store.orders.intake.batch-size=2",
+    "store.orders.intake.max-batches-per-drain=1"
+})
+class OrderIntakeDrainTest {
+    
+    private static final int ORDERS = 5;
+    
+    @Autowired
+    private OrderIntake orderIntake;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Test
+    void drainsOneBoundedRunAtATimeAndKeepsTheAcceptTime() throws Exception {
+        CreateOrderRequest request = orderRequest();
+        List<String> trackingIds = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            trackingIds.add(orderIntake.submit(request).getTrackingId());
+        }
+        LocalDateTime accepted = LocalDateTime.now();
+        Thread.sleep(50);
+        
+        orderIntake.drain();
+        assertEquals(List.of(IntakeStatusDTO.IntakeState.PLACED, IntakeStatusDTO.IntakeState.PLACED,
+                IntakeStatusDTO.IntakeState.PENDING, IntakeStatusDTO.IntakeState.PENDING,
+                IntakeStatusDTO.IntakeState.PENDING),
+            trackingIds.stream().map(id -> orderIntake.getStatus(id).getState()).toList());
+        
+        orderIntake.drain();
+        orderIntake.drain();
+        for (String trackingId : trackingIds) {
+            IntakeStatusDTO status = orderIntake.getStatus(trackingId);
+            assertEquals(IntakeStatusDTO.IntakeState.PLACED, status.getState());
+            assertFalse(status.getOrder().getDateReceived().isAfter(accepted));
+        }
+    }
+    
+    // Helper methods
+    private CreateOrderRequest orderRequest() {
+        Long customerId = customerRepository.save(
+            new Customer("Intake Customer", "intake@example.com", "1 Intake Street")).getId();
+        CreateProductRequest product = new CreateProductRequest();
+        product.setSku("INTAKE-1");
+        product.setName("Intake Product");
+        product.setPriceMinor(750L);
+        product.setStockQuantity(ORDERS);
+        product.setCategory("Intake");
+        Long productId = productService.createProduct(product).getId();
+        
+        CreateOrderRequest.OrderLineRequest line = new CreateOrderRequest.OrderLineRequest();
+        line.setProductId(productId);
+        line.setQuantity(1);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerId(customerId);
+        request.setOrderLines(List.of(line));
+        return request;
+    }
+}
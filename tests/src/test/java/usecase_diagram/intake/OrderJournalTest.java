@@ -0,0 +1,127 @@
+package usecase_diagram.intake;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Recovery of the order journal after a restart: resuming at the committed offset,
+ * discarding a torn tail and rolling records over into new segments.
+ */
+class OrderJournalTest {
+    
+    // Each test record is 8 header bytes plus an 8-byte payload
+    private static final int RECORD_SIZE = 16;
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void resumesAtTheCommittedOffsetAfterRestart() {
+        long afterFirst;
+        try (OrderJournal journal = OrderJournal.open(directory, 4096)) {
+            afterFirst = journal.append(payload(1));
+            journal.append(payload(2));
+            journal.append(payload(3));
+            journal.commit(afterFirst);
+        }
+        
+        try (OrderJournal journal = OrderJournal.open(directory, 4096)) {
+            assertEquals(afterFirst, journal.getCommittedPosition());
+            assertEquals(List.of("record-2", "record-3"), readAll(journal));
+            
+            // Appends continue after the recovered records
+            journal.append(payload(4));
+            assertEquals(List.of("record-2", "record-3", "record-4"), readAll(journal));
+        }
+    }
+    
+    @Test
+    void discardsATailRecordWithABadChecksum() throws IOException {
+        try (OrderJournal journal = OrderJournal.open(directory, 4096)) {
+            journal.append(payload(1));
+            journal.append(payload(2));
+        }
+        // Corrupt the checksum of the second record, as a crash mid-append would leave it
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 0xBADC0DE), RECORD_SIZE + 4);
+        }
+        
+        try (OrderJournal journal = OrderJournal.open(directory, 4096)) {
+            assertEquals(List.of("record-1"), readAll(journal));
+            
+            // The torn record's space is reused by the next append
+            assertEquals(2L * RECORD_SIZE, journal.append(payload(3)));
+            assertEquals(List.of("record-1", "record-3"), readAll(journal));
+        }
+    }
+    
+    @Test
+    void discardsATailRecordWhosePayloadWasNotWritten() throws IOException {
+        try (OrderJournal journal = OrderJournal.open(directory, 4096)) {
+            journal.append(payload(1));
+        }
+        // A length with no checksum or payload behind it
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 8), RECORD_SIZE);
+        }
+        
+        try (OrderJournal journal = OrderJournal.open(directory, 4096)) {
+            assertEquals(List.of("record-1"), readAll(journal));
+        }
+    }
+    
+    @Test
+    void rollsOverSegmentsAndDeletesCommittedOnes() throws IOException {
+        // Two records fit a segment, the third starts the next one
+        int segmentSize = 2 * RECORD_SIZE + 4;
+        List<Long> ends = new ArrayList<>();
+        try (OrderJournal journal = OrderJournal.open(directory, segmentSize)) {
+            for (int i = 1; i <= 5; i++) {
+                ends.add(journal.append(payload(i)));
+            }
+            assertEquals(3, segmentFiles().size());
+            assertEquals(List.of("record-1", "record-2", "record-3", "record-4", "record-5"), readAll(journal));
+            
+            journal.commit(ends.get(2));
+            assertEquals(2, segmentFiles().size());
+        }
+        
+        try (OrderJournal journal = OrderJournal.open(directory, segmentSize)) {
+            assertEquals(List.of("record-4", "record-5"), readAll(journal));
+            journal.append(payload(6));
+            assertEquals(List.of("record-4", "record-5", "record-6"), readAll(journal));
+        }
+    }
+    
+    // Helper methods
+    private static byte[] payload(int number) {
+        return ("record-" + number).getBytes(StandardCharsets.US_ASCII);
+    }
+    
+    private static List<String> readAll(OrderJournal journal) {
+        List<String> records = new ArrayList<>();
+        for (OrderJournal.JournalEntry entry : journal.read(journal.getCommittedPosition(), Integer.MAX_VALUE)) {
+            records.add(new String(entry.payload(), StandardCharsets.US_ASCII));
+        }
+        return records;
+    }
+    
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-")).sorted().toList();
+        }
+    }
+}
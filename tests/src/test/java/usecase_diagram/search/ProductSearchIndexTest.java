@@ -0,0 +1,80 @@
+package usecase_diagram.search;
+
+import usecase_diagram.dto.ProductDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Matching and incremental updates of the search index, without Spring or a database.
+ */
+class ProductSearchIndexTest {
+    
+    private final ProductSearchIndex index = new ProductSearchIndex();
+    
+    @Test
+    void lastTermMatchesAsPrefix() {
+        index.index(product(1L, "Water bottle", "Kitchen"));
+        index.index(product(2L, "Watch strap", "Accessories"));
+        index.index(product(3L, "Teapot", "Kitchen"));
+        
+        assertEquals(List.of(1L, 2L), index.search("wat", 10));
+        assertEquals(List.of(1L), index.search("water", 10));
+        assertEquals(List.of(), index.search("bottles", 10));
+    }
+    
+    @Test
+    void prefixMatchesEveryDictionaryTerm() {
+        // More terms share the prefix than any fixed expansion limit would cover
+        for (long id = 1; id <= 500; id++) {
+            index.index(product(id, "Widget w" + id, "Parts"));
+        }
+        
+        assertEquals(500, index.search("w", 1000).size());
+        assertEquals(List.of(499L), index.search("parts w499", 10));
+    }
+    
+    @Test
+    void everyTermMustMatch() {
+        index.index(product(1L, "Steel water bottle", "Kitchen"));
+        index.index(product(2L, "Glass water bottle", "Kitchen"));
+        index.index(product(3L, "Steel teapot", "Kitchen"));
+        
+        assertEquals(List.of(1L), index.search("steel bottle", 10));
+        assertEquals(List.of(1L, 3L), index.search("kitchen steel", 10));
+        assertEquals(List.of(), index.search("glass teapot", 10));
+    }
+    
+    @Test
+    void updatesReplaceTheIndexedTerms() {
+        index.index(product(1L, "Water bottle", "Kitchen"));
+        
+        index.index(product(1L, "Coffee mug", "Kitchen"));
+        assertEquals(List.of(), index.search("bottle", 10));
+        assertEquals(List.of(1L), index.search("mug", 10));
+        
+        ProductDTO inactive = product(1L, "Coffee mug", "Kitchen");
+        inactive.setIsActive(false);
+        index.index(inactive);
+        assertEquals(List.of(), index.search("mug", 10));
+        assertEquals(0, index.size());
+    }
+    
+    @Test
+    void ranksByFieldWeightAndLimitsResults() {
+        index.index(product(1L, "Kettle", "Kitchen"));
+        index.index(product(2L, "Kitchen scale", "Tools"));
+        index.index(product(3L, "Teapot", "Tea"));
+        
+        // A name match outweighs a category match, ahead of the lower id
+        assertEquals(List.of(2L, 1L), index.search("kitchen", 10));
+        assertEquals(List.of(2L), index.search("kitchen", 1));
+    }
+    
+    // Helper methods
+    private static ProductDTO product(Long id, String name, String category) {
+        return new ProductDTO(id, "SKU-" + id, name, null, 100, 1, category, true, null, null);
+    }
+}
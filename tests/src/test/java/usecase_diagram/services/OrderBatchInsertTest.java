@@ -0,0 +1,69 @@
+package usecase_diagram.services;
+
+import usecase_diagram.dto.CreateOrderRequest;
+import usecase_diagram.dto.CreateProductRequest;
+import usecase_diagram.metrics.QueryBudget;
+import usecase_diagram.models.Customer;
+import usecase_diagram.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statements prepared when a batch of orders is placed in one transaction.
+ * Pooled sequences hand out 50 ids per call and inserts are sent in JDBC batches of 50,
+ * so N one-line orders take about N/50 sequence calls and insert batches per table
+ * instead of one round-trip per row.
+ */
+@SpringBootTest
+class OrderBatchInsertTest {
+    
+    private static final int ORDERS = 500;
+    private static final int ROWS_PER_ROUND_TRIP = 50;
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Test
+    void placesABatchWithOneSequenceCallPerFiftyRows() throws Exception {
+        Long customerId = customerRepository.save(
+            new Customer("Batch Customer", "batch@example.com", "1 Batch Street")).getId();
+        CreateProductRequest product = new CreateProductRequest();
+        product.setSku("BATCH-1");
+        product.setName("Batch Product");
+        product.setPriceMinor(1999L);
+        product.setStockQuantity(ORDERS);
+        product.setCategory("Batch");
+        Long productId = productService.createProduct(product).getId();
+        
+        List<CreateOrderRequest> requests = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            CreateOrderRequest.OrderLineRequest line = new CreateOrderRequest.OrderLineRequest();
+            line.setProductId(productId);
+            line.setQuantity(1);
+            CreateOrderRequest request = new CreateOrderRequest();
+            request.setCustomerId(customerId);
+            request.setOrderLines(List.of(line));
+            requests.add(request);
+        }
+        
+        // One sequence call per 50 orders and per 50 order lines, each repeated N/50 times,
+        // plus a handful of statements for the customer, the product and the insert batches
+        int sequenceCalls = ORDERS / ROWS_PER_ROUND_TRIP;
+        QueryBudget.assertAtMost(2 * sequenceCalls + 5, sequenceCalls, () -> {
+            List<OrderOutcome> outcomes = orderService.placeOrderBatch(requests);
+            assertTrue(outcomes.stream().allMatch(outcome -> outcome.error() == null));
+        });
+    }
+}
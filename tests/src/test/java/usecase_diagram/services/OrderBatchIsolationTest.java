@@ -0,0 +1,86 @@
+package usecase_diagram.services;
+
+import usecase_diagram.dto.CreateOrderRequest;
+import usecase_diagram.dto.CreateProductRequest;
+import usecase_diagram.exceptions.ResourceNotFoundException;
+import usecase_diagram.models.Customer;
+import usecase_diagram.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Orders that reference unknown customers or products are rejected on their own:
+ * the rest of the batch still commits in the same transaction.
+ */
+@SpringBootTest
+class OrderBatchIsolationTest {
+    
+    private static final int STOCK = 10;
+    private static final int QUANTITY = 2;
+    private static final long UNKNOWN_ID = Long.MAX_VALUE;
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private StockReservationLedger stockLedger;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Test
+    void unknownReferencesDoNotRollBackTheBatch() {
+        Long customerId = customerRepository.save(
+            new Customer("Isolation Customer", "isolation@example.com", "1 Isolation Street")).getId();
+        CreateProductRequest product = new CreateProductRequest();
+        product.setSku("ISOLATION-1");
+        product.setName("Isolation Product");
+        product.setPriceMinor(750L);
+        product.setStockQuantity(STOCK);
+        product.setCategory("Isolation");
+        Long productId = productService.createProduct(product).getId();
+        
+        // Called on the service directly, so a rollback-only batch fails here instead of
+        // being retried one order at a time by the batcher
+        List<OrderOutcome> outcomes = orderService.placeOrderBatch(List.of(
+            request(customerId, productId),
+            request(customerId, UNKNOWN_ID),
+            request(UNKNOWN_ID, productId),
+            request(null, productId),
+            request(customerId, productId)));
+        
+        assertEquals(5, outcomes.size());
+        for (int i : new int[] {1, 2, 3}) {
+            assertNull(outcomes.get(i).order());
+            assertInstanceOf(ResourceNotFoundException.class, outcomes.get(i).error());
+        }
+        for (int i : new int[] {0, 4}) {
+            assertNull(outcomes.get(i).error());
+            String orderNumber = outcomes.get(i).order().getOrderNumber();
+            assertTrue(orderService.findOrderByNumber(orderNumber).isPresent());
+        }
+        assertEquals(STOCK - 2 * QUANTITY, stockLedger.getAvailable(productId));
+    }
+    
+    // Helper methods
+    private static CreateOrderRequest request(Long customerId, Long productId) {
+        CreateOrderRequest.OrderLineRequest line = new CreateOrderRequest.OrderLineRequest();
+        line.setProductId(productId);
+        line.setQuantity(QUANTITY);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerId(customerId);
+        request.setOrderLines(List.of(line));
+        return request;
+    }
+}
@@ -0,0 +1,90 @@
+package usecase_diagram.services;
+
+import usecase_diagram.dto.CreateOrderRequest;
+import usecase_diagram.dto.CreateProductRequest;
+import usecase_diagram.dto.OrderDTO;
+import usecase_diagram.dto.OrderPageDTO;
+import usecase_diagram.metrics.QueryBudget;
+import usecase_diagram.models.Customer;
+import usecase_diagram.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Statements run by the order reads. Orders are fetched with their customer, lines and
+ * products through entity graphs, so the count must not grow with the number of orders
+ * or lines; an N+1 regression shows up as a statement repeated once per order or line.
+ */
+@SpringBootTest
+class OrderReadQueryTest {
+    
+    private static final int ORDERS = 10;
+    private static final int LINES_PER_ORDER = 5;
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    private Long customerId;
+    private Long orderId;
+    
+    @BeforeEach
+    void placeOrders() {
+        customerId = customerRepository.save(
+            new Customer("Read Customer", "read-" + System.nanoTime() + "@example.com", "1 Read Street")).getId();
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            CreateProductRequest product = new CreateProductRequest();
+            product.setSku("READ-" + System.nanoTime() + "-" + i);
+            product.setName("Read Product " + i);
+            product.setPriceMinor(500L + i);
+            product.setStockQuantity(1000);
+            product.setCategory("Read");
+            productIds.add(productService.createProduct(product).getId());
+        }
+        
+        for (int i = 0; i < ORDERS; i++) {
+            List<CreateOrderRequest.OrderLineRequest> lines = new ArrayList<>();
+            for (Long productId : productIds) {
+                CreateOrderRequest.OrderLineRequest line = new CreateOrderRequest.OrderLineRequest();
+                line.setProductId(productId);
+                line.setQuantity(1);
+                lines.add(line);
+            }
+            CreateOrderRequest request = new CreateOrderRequest();
+            request.setCustomerId(customerId);
+            request.setOrderLines(lines);
+            orderId = orderService.placeOrder(request).getId();
+        }
+    }
+    
+    @Test
+    void getOrderLoadsTheOrderWithOneStatement() throws Exception {
+        QueryBudget.assertAtMost(1, () -> {
+            OrderDTO order = orderService.getOrder(orderId);
+            assertEquals(LINES_PER_ORDER, order.getOrderLines().size());
+        });
+    }
+    
+    @Test
+    void getOrdersByCustomerLoadsAPageWithTwoStatements() throws Exception {
+        // One keyset query for the page's ids and one for the orders with their details
+        QueryBudget.assertAtMost(2, 1, () -> {
+            OrderPageDTO page = orderService.getOrdersByCustomer(customerId, null, ORDERS);
+            assertEquals(ORDERS, page.getOrders().size());
+            page.getOrders().forEach(order -> assertEquals(LINES_PER_ORDER, order.getOrderLines().size()));
+        });
+    }
+}
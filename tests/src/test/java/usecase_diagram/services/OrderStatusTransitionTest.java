@@ -0,0 +1,94 @@
+package usecase_diagram.services;
+
+import usecase_diagram.dto.CreateOrderRequest;
+import usecase_diagram.dto.CreateProductRequest;
+import usecase_diagram.dto.UpdateOrderStatusRequest;
+import usecase_diagram.models.Customer;
+import usecase_diagram.models.Order;
+import usecase_diagram.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Status changes that release stock: an order's stock is given back at most once, and
+ * never for an order that has already shipped.
+ */
+@SpringBootTest
+class OrderStatusTransitionTest {
+    
+    private static final int STOCK = 10;
+    private static final int QUANTITY = 3;
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private StockReservationLedger stockLedger;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    private Long customerId;
+    private Long productId;
+    
+    @BeforeEach
+    void createProduct() {
+        customerId = customerRepository.save(
+            new Customer("Status Customer", "status-" + System.nanoTime() + "@example.com", "1 Status Street")).getId();
+        CreateProductRequest product = new CreateProductRequest();
+        product.setSku("STATUS-" + System.nanoTime());
+        product.setName("Status Product");
+        product.setPriceMinor(500L);
+        product.setStockQuantity(STOCK);
+        product.setCategory("Status");
+        productId = productService.createProduct(product).getId();
+    }
+    
+    @Test
+    void cancelledOrderCannotBeReopenedAndCancelledAgain() {
+        Long orderId = placeOrder();
+        assertEquals(STOCK - QUANTITY, stockLedger.getAvailable(productId));
+        
+        orderService.changeOrderStatus(orderId, new UpdateOrderStatusRequest(Order.OrderStatus.CANCELLED));
+        assertEquals(STOCK, stockLedger.getAvailable(productId));
+        
+        assertThrows(RuntimeException.class,
+            () -> orderService.changeOrderStatus(orderId, new UpdateOrderStatusRequest(Order.OrderStatus.PENDING)));
+        orderService.changeOrderStatus(orderId, new UpdateOrderStatusRequest(Order.OrderStatus.CANCELLED));
+        assertEquals(STOCK, stockLedger.getAvailable(productId));
+        assertEquals(Order.OrderStatus.CANCELLED, orderService.getOrder(orderId).getStatus());
+    }
+    
+    @Test
+    void shippedOrderCannotBeCancelled() {
+        Long orderId = placeOrder();
+        orderService.changeOrderStatus(orderId, new UpdateOrderStatusRequest(Order.OrderStatus.SHIPPED));
+        
+        assertThrows(RuntimeException.class,
+            () -> orderService.changeOrderStatus(orderId, new UpdateOrderStatusRequest(Order.OrderStatus.CANCELLED)));
+        assertThrows(RuntimeException.class, () -> orderService.cancelOrder(orderId));
+        assertEquals(STOCK - QUANTITY, stockLedger.getAvailable(productId));
+        assertEquals(Order.OrderStatus.SHIPPED, orderService.getOrder(orderId).getStatus());
+    }
+    
+    // Helper methods
+    private Long placeOrder() {
+        CreateOrderRequest.OrderLineRequest line = new CreateOrderRequest.OrderLineRequest();
+        line.setProductId(productId);
+        line.setQuantity(QUANTITY);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setCustomerId(customerId);
+        request.setOrderLines(List.of(line));
+        return orderService.placeOrder(request).getId();
+    }
+}
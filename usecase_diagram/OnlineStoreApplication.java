@@ -2,14 +2,23 @@ package usecase_diagram;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Map;
 
 /**
  * Main Spring Boot Application class for Online Store.
+ * Use-case metrics are served in Prometheus format at /actuator/prometheus unless
+ * management.endpoints.web.exposure.include is configured otherwise.
  */
 @SpringBootApplication
+@EnableScheduling
 public class OnlineStoreApplication {
     
     public static void main(String[] args) {
-        SpringApplication.run(OnlineStoreApplication.class, args);
+        SpringApplication application = new SpringApplication(OnlineStoreApplication.class);
+        application.setDefaultProperties(Map.of(
+            "management.endpoints.web.exposure.include", "health,prometheus"));
+        application.run(args);
     }
 }
@@ -0,0 +1,110 @@
+package usecase_diagram.cache;
+
+import usecase_diagram.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of serialized product listing responses, as UTF-8 JSON bytes plus a gzip variant.
+ * Entries belong to the CatalogSnapshot they were built from: once ProductCatalog publishes
+ * a new snapshot (on any product write or reload) the whole cache is dropped, so listings
+ * are serialized and compressed once per catalog change instead of once per request.
+ */
+@Component
+public class CatalogResponseCache {
+    
+    @Autowired
+    private ProductCatalog productCatalog;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    // Bounds the keys an unknown category parameter can add
+    @Value("${store.catalog.response-cache.maximum-entries:1000}")
+    private int maximumEntries;
+    
+    private volatile Generation generation = new Generation(null);
+    
+    /**
+     * Get the serialized response for a key, building it from the listing on a miss.
+     */
+    public SerializedResponse get(String key, Supplier<List<ProductDTO>> listing) {
+        CatalogSnapshot snapshot = productCatalog.getSnapshot();
+        if (snapshot == null) {
+            return serialize(listing.get());
+        }
+        
+        Generation current = generation;
+        if (current.snapshot != snapshot) {
+            current = new Generation(snapshot);
+            generation = current;
+        }
+        
+        SerializedResponse response = current.responses.get(key);
+        if (response != null) {
+            return response;
+        }
+        if (current.responses.size() >= maximumEntries) {
+            return serialize(listing.get());
+        }
+        return current.responses.computeIfAbsent(key, k -> serialize(listing.get()));
+    }
+    
+    // Helper methods
+    private SerializedResponse serialize(List<ProductDTO> products) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(products);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new SerializedResponse(json, compressed.toByteArray());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize product listing", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static final class Generation {
+        private final CatalogSnapshot snapshot;
+        private final Map<String, SerializedResponse> responses = new ConcurrentHashMap<>();
+        
+        private Generation(CatalogSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+    
+    /**
+     * Ready-to-send listing body, plain and gzip-compressed.
+     */
+    public static final class SerializedResponse {
+        private final byte[] json;
+        private final byte[] gzip;
+        
+        private SerializedResponse(byte[] json, byte[] gzip) {
+            this.json = json;
+            this.gzip = gzip;
+        }
+        
+        public byte[] getJson() {
+            return json;
+        }
+        
+        public byte[] getGzip() {
+            return gzip;
+        }
+    }
+}
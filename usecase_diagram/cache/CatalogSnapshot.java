@@ -0,0 +1,128 @@
+package usecase_diagram.cache;
+
+import usecase_diagram.dto.ProductDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the product catalog: all products, active products and products
+ * per category, each sorted by id. {@link #with(ProductDTO)} returns a new snapshot
+ * that shares every list the change does not touch.
+ */
+public final class CatalogSnapshot {
+    
+    private static final Comparator<ProductDTO> BY_ID = Comparator.comparing(ProductDTO::getId);
+    
+    private final Map<Long, ProductDTO> byId;
+    private final List<ProductDTO> all;
+    private final List<ProductDTO> active;
+    private final Map<String, List<ProductDTO>> byCategory;
+    
+    private CatalogSnapshot(Map<Long, ProductDTO> byId, List<ProductDTO> all, List<ProductDTO> active,
+                            Map<String, List<ProductDTO>> byCategory) {
+        this.byId = byId;
+        this.all = all;
+        this.active = active;
+        this.byCategory = byCategory;
+    }
+    
+    /**
+     * Build a snapshot from a full product listing.
+     */
+    public static CatalogSnapshot of(Collection<ProductDTO> products) {
+        List<ProductDTO> all = new ArrayList<>(products);
+        all.sort(BY_ID);
+        
+        Map<Long, ProductDTO> byId = new HashMap<>();
+        List<ProductDTO> active = new ArrayList<>();
+        Map<String, List<ProductDTO>> byCategory = new HashMap<>();
+        for (ProductDTO product : all) {
+            byId.put(product.getId(), product);
+            if (Boolean.TRUE.equals(product.getIsActive())) {
+                active.add(product);
+            }
+            byCategory.computeIfAbsent(product.getCategory(), c -> new ArrayList<>()).add(product);
+        }
+        byCategory.replaceAll((category, list) -> Collections.unmodifiableList(list));
+        
+        return new CatalogSnapshot(Collections.unmodifiableMap(byId), Collections.unmodifiableList(all),
+            Collections.unmodifiableList(active), Collections.unmodifiableMap(byCategory));
+    }
+    
+    /**
+     * Return a snapshot with one product added or replaced.
+     */
+    public CatalogSnapshot with(ProductDTO product) {
+        ProductDTO previous = byId.get(product.getId());
+        
+        Map<Long, ProductDTO> newById = new HashMap<>(byId);
+        newById.put(product.getId(), product);
+        
+        Map<String, List<ProductDTO>> newByCategory = new HashMap<>(byCategory);
+        if (previous != null && !previous.getCategory().equals(product.getCategory())) {
+            List<ProductDTO> oldCategory = replace(byCategory.get(previous.getCategory()), product, false);
+            if (oldCategory.isEmpty()) {
+                newByCategory.remove(previous.getCategory());
+            } else {
+                newByCategory.put(previous.getCategory(), oldCategory);
+            }
+        }
+        newByCategory.put(product.getCategory(),
+            replace(byCategory.getOrDefault(product.getCategory(), List.of()), product, true));
+        
+        return new CatalogSnapshot(Collections.unmodifiableMap(newById),
+            replace(all, product, true),
+            replace(active, product, Boolean.TRUE.equals(product.getIsActive())),
+            Collections.unmodifiableMap(newByCategory));
+    }
+    
+    /**
+     * Get a product by id, or null if the snapshot does not contain it.
+     */
+    public ProductDTO getById(Long id) {
+        return byId.get(id);
+    }
+    
+    public List<ProductDTO> getAll() {
+        return all;
+    }
+    
+    public List<ProductDTO> getActive() {
+        return active;
+    }
+    
+    public List<ProductDTO> getByCategory(String category) {
+        return byCategory.getOrDefault(category, List.of());
+    }
+    
+    public int size() {
+        return all.size();
+    }
+    
+    // Helper methods
+    
+    /**
+     * Copy a sorted list with the entry for product's id removed and, if include is set,
+     * the new product inserted at its sorted position.
+     */
+    private static List<ProductDTO> replace(List<ProductDTO> list, ProductDTO product, boolean include) {
+        List<ProductDTO> copy = new ArrayList<>(list.size() + 1);
+        copy.addAll(list);
+        int index = Collections.binarySearch(copy, product, BY_ID);
+        if (index >= 0) {
+            copy.remove(index);
+        } else {
+            index = -index - 1;
+        }
+        if (include) {
+            copy.add(index, product);
+        }
+        return Collections.unmodifiableList(copy);
+    }
+}
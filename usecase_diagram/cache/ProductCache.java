@@ -0,0 +1,55 @@
+package usecase_diagram.cache;
+
+import usecase_diagram.dto.ProductDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of products by id and by SKU, used by ProductService and OrderService.
+ * Cached ProductDTOs are shared and must not be modified. Product writes invalidate their
+ * entries; stock changes made by orders are picked up when the entry expires.
+ */
+@Component
+public class ProductCache {
+    
+    private final ReadThroughCache<Long, ProductDTO> byId;
+    private final ReadThroughCache<String, ProductDTO> bySku;
+    
+    public ProductCache(
+            @Value("${store.product-cache.maximum-size:10000}") int maximumSize,
+            @Value("${store.product-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.byId = new ReadThroughCache<>(maximumSize, ttlSeconds, TimeUnit.SECONDS);
+        this.bySku = new ReadThroughCache<>(maximumSize, ttlSeconds, TimeUnit.SECONDS);
+    }
+    
+    public ProductDTO getById(Long productId, Function<Long, ProductDTO> loader) {
+        return byId.get(productId, loader);
+    }
+    
+    public ProductDTO getBySku(String sku, Function<String, ProductDTO> loader) {
+        return bySku.get(sku, loader);
+    }
+    
+    /**
+     * Drop the entries of one product.
+     */
+    public void invalidate(Long productId, String sku) {
+        if (productId != null) {
+            byId.invalidate(productId);
+        }
+        if (sku != null) {
+            bySku.invalidate(sku);
+        }
+    }
+    
+    public ReadThroughCache<Long, ProductDTO> getByIdCache() {
+        return byId;
+    }
+    
+    public ReadThroughCache<String, ProductDTO> getBySkuCache() {
+        return bySku;
+    }
+}
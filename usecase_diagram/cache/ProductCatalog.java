@@ -0,0 +1,76 @@
+package usecase_diagram.cache;
+
+import usecase_diagram.dto.ProductDTO;
+import usecase_diagram.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the current CatalogSnapshot for the product listing endpoints.
+ * Readers get the snapshot with a single volatile read and never lock. Product writes
+ * publish a new snapshot incrementally; a periodic reload picks up stock changes made
+ * by orders and writes from other instances.
+ */
+@Component
+public class ProductCatalog {
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    private volatile CatalogSnapshot snapshot;
+    
+    // Products published while a reload is reading from the DB, re-applied on top of it
+    private final List<ProductDTO> publishedDuringReload = new ArrayList<>();
+    private boolean reloading;
+    
+    /**
+     * Get the current snapshot, or null until the first load has completed.
+     */
+    public CatalogSnapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${store.catalog.reload-interval-ms:60000}",
+               fixedDelayString = "${store.catalog.reload-interval-ms:60000}")
+    public void reload() {
+        synchronized (this) {
+            reloading = true;
+            publishedDuringReload.clear();
+        }
+        CatalogSnapshot loaded = null;
+        try {
+            loaded = CatalogSnapshot.of(productRepository.findAllAsDTO());
+        } finally {
+            // A failed load keeps the current snapshot; the next reload tries again
+            synchronized (this) {
+                if (loaded != null) {
+                    for (ProductDTO product : publishedDuringReload) {
+                        loaded = loaded.with(product);
+                    }
+                    snapshot = loaded;
+                }
+                publishedDuringReload.clear();
+                reloading = false;
+            }
+        }
+    }
+    
+    /**
+     * Publish a created or updated product.
+     */
+    public synchronized void publish(ProductDTO product) {
+        if (reloading) {
+            publishedDuringReload.add(product);
+        }
+        if (snapshot != null) {
+            snapshot = snapshot.with(product);
+        }
+    }
+}
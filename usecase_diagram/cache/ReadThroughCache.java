@@ -0,0 +1,156 @@
+package usecase_diagram.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process read-through cache with TTL expiry.
+ * Concurrent misses for the same key share one load, so a popular key cannot cause a
+ * stampede on the database. Failed loads are not cached. When the cache grows past its
+ * maximum size, expired entries are dropped first and then arbitrary ones until it is
+ * 10% below the bound, so the bound is enforced but eviction order is approximate.
+ */
+public class ReadThroughCache<K, V> {
+    
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+    private final int maximumSize;
+    private final long ttlNanos;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    public ReadThroughCache(int maximumSize, long ttl, TimeUnit unit) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.ttlNanos = unit.toNanos(ttl);
+    }
+    
+    /**
+     * Get the cached value for a key, loading it with the loader on a miss.
+     */
+    public V get(K key, Function<K, V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            if (!entry.isExpired(System.nanoTime())) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+        }
+        misses.increment();
+        
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        
+        try {
+            V value = loader.apply(key);
+            // Skip caching if the key was invalidated while loading
+            if (loading.remove(key, load)) {
+                put(key, value);
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            loading.remove(key, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Drop the cached value for a key and any load of it in progress.
+     */
+    public void invalidate(K key) {
+        loading.remove(key);
+        entries.remove(key);
+    }
+    
+    public void invalidateAll() {
+        loading.clear();
+        entries.clear();
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    public long getHits() {
+        return hits.sum();
+    }
+    
+    public long getMisses() {
+        return misses.sum();
+    }
+    
+    public long getEvictions() {
+        return evictions.sum();
+    }
+    
+    // Helper methods
+    private void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        if (entries.size() > maximumSize) {
+            evictOverflow();
+        }
+    }
+    
+    private void evictOverflow() {
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(e -> {
+            if (e.getValue().isExpired(now)) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        });
+        
+        // Trim below the bound so the scan above is amortized over many inserts
+        int target = maximumSize - maximumSize / 10;
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+    
+    private static <V> V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+        
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+        
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package usecase_diagram.config;
+
+import usecase_diagram.metrics.QueryCountingInspector;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Hibernate settings for the online store.
+ * Entities use pooled sequence IDs, so inserts can be grouped into JDBC batches:
+ * an order with its lines is written in a couple of batched statements instead of
+ * one round-trip per row. Values set explicitly through spring.jpa.properties win.
+ * The connection pool size is the store's database concurrency limit: requests beyond it
+ * wait up to store.db.connection-timeout-ms for a connection and then fail fast. Both are
+ * defaults: spring.datasource.hikari.* settings configured explicitly take precedence. This
+ * matters most with spring.threads.virtual.enabled=true (Java 21), where Spring Boot runs
+ * requests and async tasks on virtual threads and no thread pool bounds concurrency.
+ */
+@Configuration
+public class PersistenceConfig {
+    
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari.";
+    
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(
+            @Value("${store.jdbc.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+            // Hand out IDs lo..lo+allocationSize-1 from each sequence value without extra round-trips
+            properties.putIfAbsent(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo");
+        };
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return properties -> {
+            // Per-request statement and entity-load counts, see QueryStats
+            QueryCountingInspector queryCounter = new QueryCountingInspector();
+            properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, queryCounter);
+            properties.putIfAbsent(AvailableSettings.INTERCEPTOR, queryCounter);
+        };
+    }
+    
+    @Bean
+    public static BeanPostProcessor connectionPoolLimit(
+            Environment environment,
+            @Value("${store.db.max-connections:20}") int maxConnections,
+            @Value("${store.db.connection-timeout-ms:3000}") long connectionTimeoutMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof HikariDataSource dataSource) {
+                    if (!environment.containsProperty(HIKARI_PREFIX + "maximum-pool-size")) {
+                        dataSource.setMaximumPoolSize(maxConnections);
+                    }
+                    if (!environment.containsProperty(HIKARI_PREFIX + "minimum-idle")) {
+                        dataSource.setMinimumIdle(dataSource.getMaximumPoolSize());
+                    }
+                    if (!environment.containsProperty(HIKARI_PREFIX + "connection-timeout")) {
+                        dataSource.setConnectionTimeout(connectionTimeoutMs);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
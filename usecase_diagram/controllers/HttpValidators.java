@@ -0,0 +1,33 @@
+package usecase_diagram.controllers;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Builds HTTP cache validators for entities that track updatedAt.
+ * The ETag changes whenever the entity is updated, so it is strong; Last-Modified
+ * carries the same instant at HTTP's one-second precision. Values that can change
+ * without an entity update, such as product stock, are folded into the ETag as state.
+ */
+final class HttpValidators {
+    
+    private HttpValidators() {
+    }
+    
+    static String etag(String kind, Long id, LocalDateTime updatedAt) {
+        long version = updatedAt != null
+            ? updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000
+            : 0;
+        return "\"" + kind + "-" + id + "-" + Long.toHexString(version) + "\"";
+    }
+    
+    static String etag(String kind, Long id, LocalDateTime updatedAt, long state) {
+        String etag = etag(kind, id, updatedAt);
+        return etag.substring(0, etag.length() - 1) + "-" + Long.toHexString(state) + "\"";
+    }
+    
+    static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt != null ? updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+}
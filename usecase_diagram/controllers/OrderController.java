@@ -1,14 +1,30 @@
 package usecase_diagram.controllers;
 
 import usecase_diagram.dto.*;
+import usecase_diagram.exceptions.IdempotencyKeyReusedException;
+import usecase_diagram.exceptions.ResourceNotFoundException;
+import usecase_diagram.intake.OrderIntake;
 import usecase_diagram.models.Order;
+import usecase_diagram.ratelimit.CustomerRateLimiter;
+import usecase_diagram.ratelimit.EndpointClass;
+import usecase_diagram.services.OrderBatcher;
+import usecase_diagram.services.OrderIdempotencyService;
 import usecase_diagram.services.OrderService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * REST Controller for Order operations.
@@ -21,20 +37,83 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired(required = false)
+    private OrderIntake orderIntake;
+    
+    @Autowired(required = false)
+    private OrderBatcher orderBatcher;
+    
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+    
+    @Autowired
+    private CustomerRateLimiter rateLimiter;
+    
     /**
      * Place Order - Use Case: Place Order (Visitor)
      * POST /api/orders
+     * With the journal intake enabled the order is accepted with 202 and a tracking id,
+     * and placed in the background; poll GET /api/orders/intake/{trackingId} for the result.
+     * With group commit enabled, concurrent orders are placed together in one transaction.
+     * A request with an Idempotency-Key header is placed at most once per customer; retries
+     * with the same key get the original order back, and a different order sent with a key
+     * already used answers 422.
+     * Each customer is rate limited; over the limit the answer is 429 with Retry-After.
      */
     @PostMapping
-    public ResponseEntity<OrderDTO> placeOrder(@RequestBody CreateOrderRequest request) {
+    public ResponseEntity<?> placeOrder(
+            @RequestBody CreateOrderRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        long retryAfterNanos = rateLimiter.tryAcquire(EndpointClass.ORDER_PLACEMENT, request.getCustomerId());
+        if (retryAfterNanos > 0) {
+            return tooManyRequests(retryAfterNanos);
+        }
+        
+        if (orderIntake != null) {
+            try {
+                IntakeStatusDTO status = orderIntake.submit(request);
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+            } catch (UncheckedIOException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            } catch (RuntimeException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            }
+        }
         try {
-            OrderDTO order = orderService.placeOrder(request);
+            Function<CreateOrderRequest, OrderDTO> placement = orderBatcher != null
+                ? orderBatcher::placeOrder
+                : orderService::placeOrder;
+            OrderDTO order = idempotencyKey != null
+                ? orderIdempotencyService.placeOrder(idempotencyKey, request, placement)
+                : placement.apply(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(order);
+        } catch (IdempotencyKeyReusedException e) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
     
+    /**
+     * Get the status of an order accepted by the journal intake
+     * GET /api/orders/intake/{trackingId}
+     * Rejections are not persisted: after a restart a rejected order's tracking id answers 404.
+     */
+    @GetMapping("/intake/{trackingId}")
+    public ResponseEntity<IntakeStatusDTO> getIntakeStatus(@PathVariable String trackingId) {
+        if (orderIntake == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        try {
+            return ResponseEntity.ok(orderIntake.getStatus(trackingId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+    
     /**
      * Cancel Order - Use Case: Cancel Order (Visitor, Admin)
      * DELETE /api/orders/{id}
@@ -53,12 +132,25 @@ public class OrderController {
      * Manage Order - Use Case: Manage Order (Visitor, Admin)
      * Get order by ID
      * GET /api/orders/{id}
+     * Honors If-None-Match and If-Modified-Since: an unchanged order is answered with 304
+     * after reading only its updatedAt, without loading lines or serializing the body.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<OrderDTO> getOrder(@PathVariable Long id) {
+    public ResponseEntity<OrderDTO> getOrder(@PathVariable Long id, WebRequest webRequest) {
         try {
+            if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                    || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+                LocalDateTime updatedAt = orderService.getOrderUpdatedAt(id);
+                if (webRequest.checkNotModified(HttpValidators.etag("order", id, updatedAt),
+                        HttpValidators.lastModified(updatedAt))) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+                }
+            }
             OrderDTO order = orderService.getOrder(id);
-            return ResponseEntity.ok(order);
+            return ResponseEntity.ok()
+                .eTag(HttpValidators.etag("order", id, order.getUpdatedAt()))
+                .lastModified(HttpValidators.lastModified(order.getUpdatedAt()))
+                .body(order);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
@@ -66,33 +158,66 @@ public class OrderController {
     
     /**
      * Manage Order - Get all orders for a customer (Visitor)
-     * GET /api/orders/customer/{customerId}
+     * GET /api/orders/customer/{customerId}?cursor=&limit=
      */
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<OrderDTO>> getOrdersByCustomer(@PathVariable Long customerId) {
-        List<OrderDTO> orders = orderService.getOrdersByCustomer(customerId);
+    public ResponseEntity<OrderPageDTO> getOrdersByCustomer(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        long retryAfterNanos = rateLimiter.tryAcquire(EndpointClass.ORDER_READS, customerId);
+        if (retryAfterNanos > 0) {
+            return tooManyRequests(retryAfterNanos);
+        }
+        OrderPageDTO orders = orderService.getOrdersByCustomer(customerId, cursor, limit);
         return ResponseEntity.ok(orders);
     }
     
     /**
      * Manage Order - Get all orders (Admin)
-     * GET /api/orders
+     * GET /api/orders?status=&cursor=&limit=
+     * Pages are ordered newest first; pass nextCursor back as cursor to get the next one.
      */
     @GetMapping
-    public ResponseEntity<List<OrderDTO>> getAllOrders(
-            @RequestParam(required = false) Order.OrderStatus status) {
-        List<OrderDTO> orders;
+    public ResponseEntity<OrderPageDTO> getAllOrders(
+            @RequestParam(required = false) Order.OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        OrderPageDTO orders;
         if (status != null) {
-            orders = orderService.getOrdersByStatus(status);
+            orders = orderService.getOrdersByStatus(status, cursor, limit);
         } else {
-            orders = orderService.getAllOrders();
+            orders = orderService.getAllOrders(cursor, limit);
         }
         return ResponseEntity.ok(orders);
     }
     
+    /**
+     * Export all orders with their lines as NDJSON, one order per line (Admin)
+     * GET /api/orders/export
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.setRootValueSeparator(null);
+            orderService.exportOrders(order -> {
+                try {
+                    generator.writeObject(order);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+        };
+        return ResponseEntity.ok(body);
+    }
+    
     /**
      * Change Order Status - Use Case: Change Order Status (Admin)
      * PATCH /api/orders/{id}/status
+     * A transition that is not allowed, such as reopening a cancelled order, answers 409.
      */
     @PatchMapping("/{id}/status")
     public ResponseEntity<OrderDTO> changeOrderStatus(
@@ -101,8 +226,20 @@ public class OrderController {
         try {
             OrderDTO order = orderService.changeOrderStatus(id, request);
             return ResponseEntity.ok(order);
-        } catch (RuntimeException e) {
+        } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (RuntimeException e) {
+            // Transition not allowed, e.g. reopening a cancelled order
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
+    
+    // Helper methods
+    private static <T> ResponseEntity<T> tooManyRequests(long retryAfterNanos) {
+        // Retry-After is in whole seconds, rounded up
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999L));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+            .build();
+    }
 }
@@ -1,13 +1,18 @@
 package usecase_diagram.controllers;
 
+import usecase_diagram.cache.CatalogResponseCache;
 import usecase_diagram.dto.*;
 import usecase_diagram.services.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Locale;
 
 /**
  * REST Controller for Product operations.
@@ -20,6 +25,9 @@ public class ProductController {
     @Autowired
     private ProductService productService;
     
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+    
     /**
      * Create a new product
      * POST /api/products
@@ -53,11 +61,49 @@ public class ProductController {
     /**
      * Get product by ID
      * GET /api/products/{id}
+     * Honors If-None-Match and If-Modified-Since against the cached product; the ETag
+     * includes the stock quantity so a stock change always yields a new one.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDTO> getProduct(@PathVariable Long id) {
+    public ResponseEntity<ProductDTO> getProduct(@PathVariable Long id, WebRequest webRequest) {
         try {
             ProductDTO product = productService.getProduct(id);
+            long stock = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
+            String etag = HttpValidators.etag("product", id, product.getUpdatedAt(), stock);
+            long lastModified = HttpValidators.lastModified(product.getUpdatedAt());
+            // Unchanged products are answered with 304 without serializing the body
+            if (webRequest.checkNotModified(etag, lastModified)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .body(product);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+    
+    /**
+     * Search products
+     * GET /api/products/search?q=&limit=
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductDTO>> searchProducts(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit) {
+        List<ProductDTO> products = productService.searchProducts(query, limit);
+        return ResponseEntity.ok(products);
+    }
+    
+    /**
+     * Get product by SKU
+     * GET /api/products/sku/{sku}
+     */
+    @GetMapping("/sku/{sku}")
+    public ResponseEntity<ProductDTO> getProductBySku(@PathVariable String sku) {
+        try {
+            ProductDTO product = productService.getProductBySku(sku);
             return ResponseEntity.ok(product);
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
@@ -67,22 +113,32 @@ public class ProductController {
     /**
      * Get all products
      * GET /api/products
+     * The body is served pre-serialized from the catalog response cache, gzip-compressed
+     * when Accept-Encoding allows gzip with a non-zero q-value.
      */
     @GetMapping
-    public ResponseEntity<List<ProductDTO>> getAllProducts(
+    public ResponseEntity<byte[]> getAllProducts(
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) Boolean active) {
-        List<ProductDTO> products;
+            @RequestParam(required = false) Boolean active,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CatalogResponseCache.SerializedResponse products;
         
         if (category != null) {
-            products = productService.getProductsByCategory(category);
+            products = catalogResponseCache.get("category:" + category,
+                () -> productService.getProductsByCategory(category));
         } else if (active != null && active) {
-            products = productService.getActiveProducts();
+            products = catalogResponseCache.get("active", productService::getActiveProducts);
         } else {
-            products = productService.getAllProducts();
+            products = catalogResponseCache.get("all", productService::getAllProducts);
         }
         
-        return ResponseEntity.ok(products);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(products.getGzip());
+        }
+        return response.body(products.getJson());
     }
     
     /**
@@ -98,4 +154,41 @@ public class ProductController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
+    
+    // Helper methods
+    
+    /**
+     * Whether an Accept-Encoding header allows gzip: an explicit gzip entry decides, otherwise
+     * a * entry does. An entry with q=0 or an unreadable q-value refuses the coding.
+     * Package-private for tests.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.equals("gzip") && !coding.equals("x-gzip") && !coding.equals("*")) {
+                continue;
+            }
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (!coding.equals("*")) {
+                return quality > 0;
+            }
+            wildcard = quality > 0;
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
 }
@@ -0,0 +1,41 @@
+package usecase_diagram.controllers;
+
+import usecase_diagram.dto.RateLimitStatsDTO;
+import usecase_diagram.ratelimit.CustomerRateLimiter;
+import usecase_diagram.ratelimit.EndpointClass;
+import usecase_diagram.ratelimit.TokenBucket;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * REST Controller exposing per-customer rate limit counters (Admin).
+ */
+@RestController
+@RequestMapping("/api/rate-limits")
+public class RateLimitController {
+    
+    @Autowired
+    private CustomerRateLimiter rateLimiter;
+    
+    /**
+     * Get the rate limit counters of a customer, one entry per endpoint class it has used
+     * GET /api/rate-limits/customer/{customerId}
+     */
+    @GetMapping("/customer/{customerId}")
+    public ResponseEntity<List<RateLimitStatsDTO>> getCustomerStats(@PathVariable Long customerId) {
+        long now = System.nanoTime();
+        List<RateLimitStatsDTO> stats = new ArrayList<>();
+        for (EndpointClass endpoint : EndpointClass.values()) {
+            TokenBucket bucket = rateLimiter.getBucket(endpoint, customerId);
+            if (bucket != null) {
+                stats.add(new RateLimitStatsDTO(endpoint, bucket.getAdmitted(), bucket.getRejected(),
+                    bucket.getAvailableTokens(now)));
+            }
+        }
+        return ResponseEntity.ok(stats);
+    }
+}
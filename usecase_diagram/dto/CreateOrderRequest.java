@@ -1,5 +1,7 @@
 package usecase_diagram.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,6 +13,14 @@ public class CreateOrderRequest {
     private Boolean isPrepaid;
     private List<OrderLineRequest> orderLines = new ArrayList<>();
     
+    // Set from the Idempotency-Key header, never from the body
+    @JsonIgnore
+    private String idempotencyKey;
+    
+    // Hash of the request body, set together with the idempotency key
+    @JsonIgnore
+    private String requestFingerprint;
+    
     // Constructors
     public CreateOrderRequest() {
     }
@@ -40,6 +50,22 @@ public class CreateOrderRequest {
         this.orderLines = orderLines;
     }
     
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+    
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+    
+    public String getRequestFingerprint() {
+        return requestFingerprint;
+    }
+    
+    public void setRequestFingerprint(String requestFingerprint) {
+        this.requestFingerprint = requestFingerprint;
+    }
+    
     /**
      * Inner class for order line request.
      */
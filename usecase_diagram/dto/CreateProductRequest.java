@@ -7,7 +7,7 @@ public class CreateProductRequest {
     private String sku;
     private String name;
     private String description;
-    private Double price;
+    private Long priceMinor;
     private Integer stockQuantity;
     private String category;
     
@@ -40,12 +40,12 @@ public class CreateProductRequest {
         this.description = description;
     }
     
-    public Double getPrice() {
-        return price;
+    public Long getPriceMinor() {
+        return priceMinor;
     }
     
-    public void setPrice(Double price) {
-        this.price = price;
+    public void setPriceMinor(Long priceMinor) {
+        this.priceMinor = priceMinor;
     }
     
     public Integer getStockQuantity() {
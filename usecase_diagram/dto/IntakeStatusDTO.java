@@ -0,0 +1,60 @@
+package usecase_diagram.dto;
+
+/**
+ * Status of an order accepted through the asynchronous intake.
+ * The tracking id is also the order number of the order once it is placed.
+ */
+public class IntakeStatusDTO {
+    private String trackingId;
+    private IntakeState state;
+    private String reason;
+    private OrderDTO order;
+    
+    public enum IntakeState {
+        PENDING,
+        PLACED,
+        REJECTED
+    }
+    
+    // Constructors
+    public IntakeStatusDTO() {
+    }
+    
+    public IntakeStatusDTO(String trackingId, IntakeState state) {
+        this.trackingId = trackingId;
+        this.state = state;
+    }
+    
+    // Getters and Setters
+    public String getTrackingId() {
+        return trackingId;
+    }
+    
+    public void setTrackingId(String trackingId) {
+        this.trackingId = trackingId;
+    }
+    
+    public IntakeState getState() {
+        return state;
+    }
+    
+    public void setState(IntakeState state) {
+        this.state = state;
+    }
+    
+    public String getReason() {
+        return reason;
+    }
+    
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+    
+    public OrderDTO getOrder() {
+        return order;
+    }
+    
+    public void setOrder(OrderDTO order) {
+        this.order = order;
+    }
+}
@@ -13,7 +13,7 @@ public class OrderDTO {
     private String orderNumber;
     private LocalDateTime dateReceived;
     private Boolean isPrepaid;
-    private Double totalPrice;
+    private long totalPriceMinor;
     private Order.OrderStatus status;
     private Long customerId;
     private String customerName;
@@ -58,12 +58,12 @@ public class OrderDTO {
         this.isPrepaid = isPrepaid;
     }
     
-    public Double getTotalPrice() {
-        return totalPrice;
+    public long getTotalPriceMinor() {
+        return totalPriceMinor;
     }
     
-    public void setTotalPrice(Double totalPrice) {
-        this.totalPrice = totalPrice;
+    public void setTotalPriceMinor(long totalPriceMinor) {
+        this.totalPriceMinor = totalPriceMinor;
     }
     
     public Order.OrderStatus getStatus() {
@@ -8,8 +8,8 @@ public class OrderLineDTO {
     private Long productId;
     private String productName;
     private Integer quantity;
-    private Double unitPrice;
-    private Double lineTotal;
+    private long unitPriceMinor;
+    private long lineTotalMinor;
     
     // Constructors
     public OrderLineDTO() {
@@ -48,19 +48,19 @@ public class OrderLineDTO {
         this.quantity = quantity;
     }
     
-    public Double getUnitPrice() {
-        return unitPrice;
+    public long getUnitPriceMinor() {
+        return unitPriceMinor;
     }
     
-    public void setUnitPrice(Double unitPrice) {
-        this.unitPrice = unitPrice;
+    public void setUnitPriceMinor(long unitPriceMinor) {
+        this.unitPriceMinor = unitPriceMinor;
     }
     
-    public Double getLineTotal() {
-        return lineTotal;
+    public long getLineTotalMinor() {
+        return lineTotalMinor;
     }
     
-    public void setLineTotal(Double lineTotal) {
-        this.lineTotal = lineTotal;
+    public void setLineTotalMinor(long lineTotalMinor) {
+        this.lineTotalMinor = lineTotalMinor;
     }
 }
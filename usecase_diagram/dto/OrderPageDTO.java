@@ -0,0 +1,39 @@
+package usecase_diagram.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of orders from a keyset-paginated listing.
+ * nextCursor is an opaque token for the following page, or null on the last page.
+ */
+public class OrderPageDTO {
+    private List<OrderDTO> orders = new ArrayList<>();
+    private String nextCursor;
+    
+    // Constructors
+    public OrderPageDTO() {
+    }
+    
+    public OrderPageDTO(List<OrderDTO> orders, String nextCursor) {
+        this.orders = orders;
+        this.nextCursor = nextCursor;
+    }
+    
+    // Getters and Setters
+    public List<OrderDTO> getOrders() {
+        return orders;
+    }
+    
+    public void setOrders(List<OrderDTO> orders) {
+        this.orders = orders;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -10,7 +10,7 @@ public class ProductDTO {
     private String sku;
     private String name;
     private String description;
-    private Double price;
+    private long priceMinor;
     private Integer stockQuantity;
     private String category;
     private Boolean isActive;
@@ -21,6 +21,21 @@ public class ProductDTO {
     public ProductDTO() {
     }
     
+    public ProductDTO(Long id, String sku, String name, String description, long priceMinor,
+                      Integer stockQuantity, String category, Boolean isActive,
+                      LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.sku = sku;
+        this.name = name;
+        this.description = description;
+        this.priceMinor = priceMinor;
+        this.stockQuantity = stockQuantity;
+        this.category = category;
+        this.isActive = isActive;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
     // Getters and Setters
     public Long getId() {
         return id;
@@ -54,12 +69,12 @@ public class ProductDTO {
         this.description = description;
     }
     
-    public Double getPrice() {
-        return price;
+    public long getPriceMinor() {
+        return priceMinor;
     }
     
-    public void setPrice(Double price) {
-        this.price = price;
+    public void setPriceMinor(long priceMinor) {
+        this.priceMinor = priceMinor;
     }
     
     public Integer getStockQuantity() {
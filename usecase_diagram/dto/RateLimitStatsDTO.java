@@ -0,0 +1,57 @@
+package usecase_diagram.dto;
+
+import usecase_diagram.ratelimit.EndpointClass;
+
+/**
+ * Rate limit counters of one customer for one endpoint class.
+ */
+public class RateLimitStatsDTO {
+    private EndpointClass endpoint;
+    private long admitted;
+    private long rejected;
+    private long availableTokens;
+    
+    // Constructors
+    public RateLimitStatsDTO() {
+    }
+    
+    public RateLimitStatsDTO(EndpointClass endpoint, long admitted, long rejected, long availableTokens) {
+        this.endpoint = endpoint;
+        this.admitted = admitted;
+        this.rejected = rejected;
+        this.availableTokens = availableTokens;
+    }
+    
+    // Getters and Setters
+    public EndpointClass getEndpoint() {
+        return endpoint;
+    }
+    
+    public void setEndpoint(EndpointClass endpoint) {
+        this.endpoint = endpoint;
+    }
+    
+    public long getAdmitted() {
+        return admitted;
+    }
+    
+    public void setAdmitted(long admitted) {
+        this.admitted = admitted;
+    }
+    
+    public long getRejected() {
+        return rejected;
+    }
+    
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+    
+    public long getAvailableTokens() {
+        return availableTokens;
+    }
+    
+    public void setAvailableTokens(long availableTokens) {
+        this.availableTokens = availableTokens;
+    }
+}
@@ -6,7 +6,7 @@ package usecase_diagram.dto;
 public class UpdateProductRequest {
     private String name;
     private String description;
-    private Double price;
+    private Long priceMinor;
     private Integer stockQuantity;
     private String category;
     private Boolean isActive;
@@ -32,12 +32,12 @@ public class UpdateProductRequest {
         this.description = description;
     }
     
-    public Double getPrice() {
-        return price;
+    public Long getPriceMinor() {
+        return priceMinor;
     }
     
-    public void setPrice(Double price) {
-        this.price = price;
+    public void setPriceMinor(Long priceMinor) {
+        this.priceMinor = priceMinor;
     }
     
     public Integer getStockQuantity() {
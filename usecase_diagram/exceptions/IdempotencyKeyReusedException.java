@@ -0,0 +1,13 @@
+package usecase_diagram.exceptions;
+
+/**
+ * Thrown when an Idempotency-Key is sent again with a different order request.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
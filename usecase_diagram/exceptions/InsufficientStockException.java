@@ -0,0 +1,13 @@
+package usecase_diagram.exceptions;
+
+/**
+ * Thrown when an order line asks for more of a product than is in stock.
+ */
+public class InsufficientStockException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+}
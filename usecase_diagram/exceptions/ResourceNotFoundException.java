@@ -0,0 +1,13 @@
+package usecase_diagram.exceptions;
+
+/**
+ * Thrown when a requested customer, order or product does not exist.
+ */
+public class ResourceNotFoundException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public ResourceNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package usecase_diagram.intake;
+
+import usecase_diagram.dto.CreateOrderRequest;
+
+import java.time.LocalDateTime;
+
+/**
+ * An accepted order as written to the intake journal. The tracking id handed to the
+ * client becomes the order number, which makes replaying a record idempotent, and the
+ * accept time becomes the order's dateReceived however late the record is drained.
+ */
+public record JournaledOrder(String orderNumber, LocalDateTime acceptedAt, CreateOrderRequest request) {
+}
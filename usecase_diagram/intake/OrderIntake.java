@@ -0,0 +1,248 @@
+package usecase_diagram.intake;
+
+import usecase_diagram.dto.CreateOrderRequest;
+import usecase_diagram.dto.IntakeStatusDTO;
+import usecase_diagram.dto.OrderDTO;
+import usecase_diagram.metrics.StoreMetrics;
+import usecase_diagram.services.OrderNumberGenerator;
+import usecase_diagram.services.OrderService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Asynchronous order intake used when store.orders.intake=JOURNAL.
+ * Accepted orders are validated, appended to the OrderJournal and acknowledged once the
+ * record is on disk; {@link #drain()} places them in batches of one transaction each and
+ * then commits the journal offset. After a restart draining resumes at the last committed
+ * offset, and orders already placed before the crash are skipped by order number.
+ * Pending tracking ids are recovered from the journal on startup. Rejection reasons are
+ * kept in memory only: after a restart, the tracking id of an order rejected before it is
+ * unknown and its status lookup answers 404.
+ */
+@Component
+@ConditionalOnProperty(name = "store.orders.intake", havingValue = "JOURNAL")
+public class OrderIntake {
+    
+    private static final Logger log = LoggerFactory.getLogger(OrderIntake.class);
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Autowired
+    private OrderNumberGenerator orderNumberGenerator;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private StoreMetrics storeMetrics;
+    
+    @Value("${store.orders.intake.journal-dir:data/order-journal}")
+    private String journalDir;
+    
+    @Value("${store.orders.intake.segment-size-mb:64}")
+    private int segmentSizeMb;
+    
+    @Value("${store.orders.intake.batch-size:500}")
+    private int batchSize;
+    
+    // Bounds one drain run, so a backlog does not hold the shared scheduler thread
+    @Value("${store.orders.intake.max-batches-per-drain:10}")
+    private int maxBatchesPerDrain;
+    
+    @Value("${store.orders.intake.rejected-retention:10000}")
+    private int rejectedRetention;
+    
+    private OrderJournal journal;
+    
+    // Accepted but not yet drained, for status lookups
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    
+    // Most recent rejections by tracking id, oldest evicted first
+    private Map<String, String> rejected;
+    
+    private volatile boolean ready;
+    
+    @PostConstruct
+    public void open() {
+        long segmentSize = segmentSizeMb * 1024L * 1024L;
+        if (segmentSizeMb < 1 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("store.orders.intake.segment-size-mb must be between 1 and 2047");
+        }
+        journal = OrderJournal.open(Paths.get(journalDir), (int) segmentSize);
+        rejected = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > rejectedRetention;
+            }
+        });
+        
+        // Orders accepted before a restart but not yet drained are still pending
+        long position = journal.getCommittedPosition();
+        List<OrderJournal.JournalEntry> entries;
+        while (!(entries = journal.read(position, batchSize)).isEmpty()) {
+            for (OrderJournal.JournalEntry entry : entries) {
+                JournaledOrder order = readOrder(entry.payload());
+                if (order != null) {
+                    pending.add(order.orderNumber());
+                }
+            }
+            position = entries.get(entries.size() - 1).nextPosition();
+        }
+    }
+    
+    /**
+     * Start draining once startup has completed, so the stock ledger is loaded first.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ready = true;
+    }
+    
+    /**
+     * Validate an order and append it to the journal.
+     * @return the PENDING status carrying the tracking id, once the order is durable
+     */
+    public IntakeStatusDTO submit(CreateOrderRequest request) {
+        orderService.validateOrder(request);
+        
+        String trackingId = orderNumberGenerator.nextOrderNumber();
+        byte[] record;
+        try {
+            record = objectMapper.writeValueAsBytes(new JournaledOrder(trackingId, LocalDateTime.now(), request));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize order request", e);
+        }
+        
+        pending.add(trackingId);
+        try {
+            journal.append(record);
+        } catch (RuntimeException e) {
+            pending.remove(trackingId);
+            throw e;
+        }
+        return new IntakeStatusDTO(trackingId, IntakeStatusDTO.IntakeState.PENDING);
+    }
+    
+    /**
+     * Get the status of an accepted order by tracking id.
+     */
+    public IntakeStatusDTO getStatus(String trackingId) {
+        if (pending.contains(trackingId)) {
+            return new IntakeStatusDTO(trackingId, IntakeStatusDTO.IntakeState.PENDING);
+        }
+        
+        String reason = rejected.get(trackingId);
+        if (reason != null) {
+            IntakeStatusDTO status = new IntakeStatusDTO(trackingId, IntakeStatusDTO.IntakeState.REJECTED);
+            status.setReason(reason);
+            return status;
+        }
+        
+        Optional<OrderDTO> order = orderService.findOrderByNumber(trackingId);
+        if (order.isEmpty()) {
+            throw new RuntimeException("Unknown tracking id: " + trackingId);
+        }
+        IntakeStatusDTO status = new IntakeStatusDTO(trackingId, IntakeStatusDTO.IntakeState.PLACED);
+        status.setOrder(order.get());
+        return status;
+    }
+    
+    /**
+     * Place journaled orders in batches, committing the journal offset after each batch.
+     * A run places at most store.orders.intake.max-batches-per-drain batches; the rest of a
+     * backlog waits for the next run, so other scheduled tasks such as the stock ledger flush
+     * are not held up behind it. A database failure stops the run and leaves the batch in
+     * the journal for the next one.
+     */
+    @Scheduled(fixedDelayString = "${store.orders.intake.drain-interval-ms:100}")
+    public void drain() {
+        if (!ready) {
+            return;
+        }
+        
+        for (int batches = 0; batches < maxBatchesPerDrain; batches++) {
+            List<OrderJournal.JournalEntry> entries = journal.read(journal.getCommittedPosition(), batchSize);
+            if (entries.isEmpty()) {
+                return;
+            }
+            Map<String, JournaledOrder> batch = new LinkedHashMap<>();
+            for (OrderJournal.JournalEntry entry : entries) {
+                JournaledOrder order = readOrder(entry.payload());
+                if (order != null) {
+                    batch.put(order.orderNumber(), order);
+                } else {
+                    log.error("Dropping unreadable order journal record before offset {}", entry.nextPosition());
+                    storeMetrics.journalRecordDropped();
+                }
+            }
+            
+            apply(batch);
+            journal.commit(entries.get(entries.size() - 1).nextPosition());
+            pending.removeAll(batch.keySet());
+        }
+    }
+    
+    @PreDestroy
+    public void close() {
+        journal.close();
+    }
+    
+    // Helper methods
+    private void apply(Map<String, JournaledOrder> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            orderService.placeOrders(batch.values());
+            return;
+        } catch (DataAccessException | TransactionException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // At least one order was rejected: place them one by one so only that one fails
+        }
+        
+        batch.forEach((orderNumber, order) -> {
+            try {
+                orderService.placeOrders(List.of(order));
+            } catch (DataAccessException | TransactionException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                rejected.put(orderNumber, e.getMessage());
+            }
+        });
+    }
+    
+    private JournaledOrder readOrder(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, JournaledOrder.class);
+        } catch (IOException e) {
+            // Checksummed but not a JournaledOrder, e.g. written by an incompatible version
+            return null;
+        }
+    }
+}
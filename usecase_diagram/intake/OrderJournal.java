@@ -0,0 +1,277 @@
+package usecase_diagram.intake;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of memory-mapped segment files.
+ * Positions are logical offsets: segment index * segment size + position in the segment.
+ * Each record is a 4-byte length, a 4-byte CRC32C of the payload and the payload; a record
+ * that does not fit the rest of a segment starts the next one. Appenders wait until their
+ * record is forced to disk, and one force covers every record written before it, so
+ * concurrent appends share fsyncs. The offset consumed by the reader is kept in a separate
+ * file; segments entirely before it are deleted.
+ */
+public final class OrderJournal implements Closeable {
+    
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String COMMITTED_FILE = "committed.offset";
+    
+    private final Path directory;
+    private final int segmentSize;
+    private final NavigableMap<Long, MappedByteBuffer> segments = new ConcurrentSkipListMap<>();
+    
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    
+    // End of the last complete record; guarded by appendLock for writes
+    private volatile long writePosition;
+    // Everything before this offset has been forced to disk; guarded by syncLock for writes
+    private volatile long durablePosition;
+    private volatile long committedPosition;
+    
+    private OrderJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+    
+    /**
+     * Open the journal in a directory, recovering the end of the log from the last
+     * committed offset. A torn record at the tail, left by a crash mid-append, is discarded.
+     */
+    public static OrderJournal open(Path directory, int segmentSize) {
+        OrderJournal journal = new OrderJournal(directory, segmentSize);
+        try {
+            Files.createDirectories(directory);
+            journal.recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open order journal in " + directory, e);
+        }
+        return journal;
+    }
+    
+    /**
+     * Append a record and return once it is durable.
+     * @return the offset just after the record
+     */
+    public long append(byte[] payload) {
+        if (payload.length == 0 || payload.length > segmentSize - RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Journal record size out of range: " + payload.length);
+        }
+        
+        long end;
+        appendLock.lock();
+        try {
+            long start = writePosition;
+            if (positionInSegment(start) + RECORD_HEADER_SIZE + payload.length > segmentSize) {
+                start = (segmentIndex(start) + 1) * segmentSize;
+            }
+            MappedByteBuffer segment = segment(segmentIndex(start));
+            int position = positionInSegment(start);
+            segment.putInt(position + 4, checksum(payload, 0, payload.length));
+            segment.put(position + RECORD_HEADER_SIZE, payload, 0, payload.length);
+            // Length last: a record with a zero length is never read
+            segment.putInt(position, payload.length);
+            end = start + RECORD_HEADER_SIZE + payload.length;
+            writePosition = end;
+        } finally {
+            appendLock.unlock();
+        }
+        
+        awaitDurable(end);
+        return end;
+    }
+    
+    /**
+     * Read up to maxRecords durable records starting at an offset.
+     */
+    public List<JournalEntry> read(long from, int maxRecords) {
+        List<JournalEntry> entries = new ArrayList<>();
+        long limit = durablePosition;
+        long position = from;
+        while (position < limit && entries.size() < maxRecords) {
+            MappedByteBuffer segment = segments.get(segmentIndex(position));
+            int offset = positionInSegment(position);
+            int length = offset + RECORD_HEADER_SIZE <= segmentSize ? segment.getInt(offset) : 0;
+            if (length == 0) {
+                // The writer moved on to the next segment
+                position = (segmentIndex(position) + 1) * segmentSize;
+                continue;
+            }
+            byte[] payload = new byte[length];
+            segment.get(offset + RECORD_HEADER_SIZE, payload);
+            position += RECORD_HEADER_SIZE + length;
+            entries.add(new JournalEntry(payload, position));
+        }
+        return entries;
+    }
+    
+    /**
+     * Record that everything before an offset has been applied; drops segments no longer needed.
+     */
+    public void commit(long offset) {
+        try {
+            Path temp = directory.resolve(COMMITTED_FILE + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, offset));
+                channel.force(true);
+            }
+            Files.move(temp, directory.resolve(COMMITTED_FILE),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            committedPosition = offset;
+            
+            long firstNeeded = segmentIndex(offset);
+            for (Long index : new ArrayList<>(segments.headMap(firstNeeded).keySet())) {
+                segments.remove(index);
+                Files.deleteIfExists(segmentPath(index));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not commit order journal offset", e);
+        }
+    }
+    
+    public long getCommittedPosition() {
+        return committedPosition;
+    }
+    
+    @Override
+    public void close() {
+        syncLock.lock();
+        try {
+            for (MappedByteBuffer segment : segments.values()) {
+                segment.force();
+            }
+        } finally {
+            syncLock.unlock();
+        }
+    }
+    
+    // Helper methods
+    private void awaitDurable(long end) {
+        syncLock.lock();
+        try {
+            if (durablePosition >= end) {
+                // Forced by another appender while this one waited
+                return;
+            }
+            long target = writePosition;
+            long fromIndex = segmentIndex(durablePosition);
+            long toIndex = segmentIndex(target - 1);
+            for (MappedByteBuffer segment : segments.subMap(fromIndex, true, toIndex, true).values()) {
+                segment.force();
+            }
+            durablePosition = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+    
+    private void recover() throws IOException {
+        Path committedFile = directory.resolve(COMMITTED_FILE);
+        long committed = Files.exists(committedFile)
+            ? ByteBuffer.wrap(Files.readAllBytes(committedFile)).getLong()
+            : 0;
+        
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    long index = Long.parseLong(
+                        name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    if (index < segmentIndex(committed)) {
+                        Files.delete(file);
+                    } else {
+                        segment(index);
+                    }
+                }
+            }
+        }
+        
+        // Scan forward from the committed offset to the last intact record
+        long position = committed;
+        while (true) {
+            MappedByteBuffer segment = segment(segmentIndex(position));
+            int offset = positionInSegment(position);
+            boolean intact = false;
+            int length = 0;
+            if (offset + RECORD_HEADER_SIZE <= segmentSize) {
+                length = segment.getInt(offset);
+                if (length > 0 && offset + RECORD_HEADER_SIZE + length <= segmentSize) {
+                    byte[] payload = new byte[length];
+                    segment.get(offset + RECORD_HEADER_SIZE, payload);
+                    intact = segment.getInt(offset + 4) == checksum(payload, 0, length);
+                }
+            }
+            if (intact) {
+                position += RECORD_HEADER_SIZE + length;
+            } else if (segments.higherKey(segmentIndex(position)) != null) {
+                position = (segmentIndex(position) + 1) * segmentSize;
+            } else {
+                // Clear a torn tail so it cannot be mistaken for a record later
+                for (int i = offset; i < segmentSize; i++) {
+                    segment.put(i, (byte) 0);
+                }
+                segment.force();
+                break;
+            }
+        }
+        
+        committedPosition = committed;
+        writePosition = position;
+        durablePosition = position;
+    }
+    
+    private MappedByteBuffer segment(long index) {
+        return segments.computeIfAbsent(index, i -> {
+            try (FileChannel channel = FileChannel.open(segmentPath(i), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // The mapping stays valid after the channel is closed
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not map order journal segment " + i, e);
+            }
+        });
+    }
+    
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+    
+    private long segmentIndex(long position) {
+        return position / segmentSize;
+    }
+    
+    private int positionInSegment(long position) {
+        return (int) (position % segmentSize);
+    }
+    
+    private static int checksum(byte[] payload, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload, offset, length);
+        return (int) crc.getValue();
+    }
+    
+    /**
+     * A record's payload and the offset just after it.
+     */
+    public record JournalEntry(byte[] payload, long nextPosition) {
+    }
+}
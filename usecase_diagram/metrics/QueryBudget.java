@@ -0,0 +1,48 @@
+package usecase_diagram.metrics;
+
+/**
+ * Test support: fails when code runs more SQL statements than its declared budget.
+ * Statements are counted on the calling thread, which covers MockMvc requests and
+ * direct service calls. For example:
+ * <pre>
+ * QueryBudget.assertAtMost(3, () -&gt; mockMvc.perform(get("/api/orders/customer/1")));
+ * </pre>
+ */
+public final class QueryBudget {
+    
+    private QueryBudget() {
+    }
+    
+    /**
+     * Run an action and throw AssertionError if it prepared more than maxStatements statements
+     * or repeated any one statement more than maxRepeats times.
+     */
+    public static void assertAtMost(int maxStatements, int maxRepeats, ThrowingRunnable action) throws Exception {
+        try (QueryStats stats = QueryStats.open()) {
+            action.run();
+            if (stats.getStatements() > maxStatements) {
+                throw new AssertionError("Expected at most " + maxStatements + " SQL statements but "
+                    + stats.getStatements() + " were executed");
+            }
+            if (stats.getMaxRepeats() > maxRepeats) {
+                throw new AssertionError("A SQL statement was executed " + stats.getMaxRepeats()
+                    + " times, more than the " + maxRepeats + " allowed; likely an N+1 query");
+            }
+        }
+    }
+    
+    /**
+     * Run an action and throw AssertionError if it prepared more than maxStatements statements.
+     */
+    public static void assertAtMost(int maxStatements, ThrowingRunnable action) throws Exception {
+        assertAtMost(maxStatements, maxStatements, action);
+    }
+    
+    /**
+     * Code under test, allowed to throw checked exceptions like MockMvc.perform.
+     */
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,26 @@
+package usecase_diagram.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+/**
+ * Feeds QueryStats from Hibernate: every prepared SQL statement and every entity loaded.
+ * Registered as both the statement inspector and the interceptor in PersistenceConfig.
+ */
+public class QueryCountingInspector implements StatementInspector, Interceptor {
+    
+    private static final long serialVersionUID = 1L;
+    
+    @Override
+    public String inspect(String sql) {
+        QueryStats.statementPrepared(sql);
+        return sql;
+    }
+    
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        QueryStats.entityLoaded();
+        return false;
+    }
+}
@@ -0,0 +1,90 @@
+package usecase_diagram.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL statements and entity loads counted on the current thread while a scope is open.
+ * Scopes nest: QueryStatsFilter opens one per HTTP request and QueryBudget opens one
+ * around the code under test, and each statement is counted in every open scope.
+ * maxRepeats is how often the most frequent statement text ran, the usual N+1 signature.
+ */
+public final class QueryStats implements AutoCloseable {
+    
+    private static final ThreadLocal<List<QueryStats>> OPEN = new ThreadLocal<>();
+    
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+    private int entitiesLoaded;
+    private int maxRepeats;
+    
+    private QueryStats() {
+    }
+    
+    /**
+     * Start counting on the current thread until the returned scope is closed.
+     */
+    public static QueryStats open() {
+        List<QueryStats> open = OPEN.get();
+        if (open == null) {
+            open = new ArrayList<>(2);
+            OPEN.set(open);
+        }
+        QueryStats scope = new QueryStats();
+        open.add(scope);
+        return scope;
+    }
+    
+    /**
+     * The innermost open scope of the current thread, or null.
+     */
+    public static QueryStats current() {
+        List<QueryStats> open = OPEN.get();
+        return open != null ? open.get(open.size() - 1) : null;
+    }
+    
+    static void statementPrepared(String sql) {
+        List<QueryStats> open = OPEN.get();
+        if (open != null) {
+            for (QueryStats scope : open) {
+                scope.statements++;
+                int repeats = scope.executions.merge(sql, 1, Integer::sum);
+                scope.maxRepeats = Math.max(scope.maxRepeats, repeats);
+            }
+        }
+    }
+    
+    static void entityLoaded() {
+        List<QueryStats> open = OPEN.get();
+        if (open != null) {
+            for (QueryStats scope : open) {
+                scope.entitiesLoaded++;
+            }
+        }
+    }
+    
+    public int getStatements() {
+        return statements;
+    }
+    
+    public int getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+    
+    public int getMaxRepeats() {
+        return maxRepeats;
+    }
+    
+    @Override
+    public void close() {
+        List<QueryStats> open = OPEN.get();
+        if (open != null) {
+            open.remove(this);
+            if (open.isEmpty()) {
+                OPEN.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package usecase_diagram.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements and entity loads of each API request.
+ * With store.sql-stats.mode=METRICS (the default) they are recorded per route as
+ * store.request.sql.statements and store.request.entities.loaded, and requests that ran
+ * one statement store.sql-stats.repeat-threshold times or more count as
+ * store.request.sql.repeated, the N+1 signature. With HEADERS they are returned as
+ * response headers instead (see QueryStatsHeaderAdvice), for development.
+ */
+@Component
+public class QueryStatsFilter extends OncePerRequestFilter {
+    
+    private final MeterRegistry registry;
+    private final String mode;
+    private final int repeatThreshold;
+    
+    public QueryStatsFilter(MeterRegistry registry,
+                            @Value("${store.sql-stats.mode:METRICS}") String mode,
+                            @Value("${store.sql-stats.repeat-threshold:10}") int repeatThreshold) {
+        this.registry = registry;
+        this.mode = mode;
+        this.repeatThreshold = repeatThreshold;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "OFF".equals(mode) || !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (QueryStats stats = QueryStats.open()) {
+            chain.doFilter(request, response);
+            if ("METRICS".equals(mode)) {
+                record(request, stats);
+            }
+        }
+    }
+    
+    // Helper methods
+    private void record(HttpServletRequest request, QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "route", pattern != null ? pattern.toString() : "unmatched");
+        registry.summary("store.request.sql.statements", tags).record(stats.getStatements());
+        registry.summary("store.request.entities.loaded", tags).record(stats.getEntitiesLoaded());
+        if (stats.getMaxRepeats() >= repeatThreshold) {
+            registry.counter("store.request.sql.repeated", tags).increment();
+        }
+    }
+}
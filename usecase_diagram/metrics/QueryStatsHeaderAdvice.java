@@ -0,0 +1,38 @@
+package usecase_diagram.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the request's query counts as X-SQL-Statements, X-SQL-Max-Repeats and
+ * X-Entities-Loaded headers when store.sql-stats.mode=HEADERS. Headers are set just before
+ * the body is written, after the service call has run all of its queries.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "store.sql-stats.mode", havingValue = "HEADERS")
+public class QueryStatsHeaderAdvice implements ResponseBodyAdvice<Object> {
+    
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+    
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            response.getHeaders().set("X-SQL-Statements", Integer.toString(stats.getStatements()));
+            response.getHeaders().set("X-SQL-Max-Repeats", Integer.toString(stats.getMaxRepeats()));
+            response.getHeaders().set("X-Entities-Loaded", Integer.toString(stats.getEntitiesLoaded()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,61 @@
+package usecase_diagram.metrics;
+
+import usecase_diagram.cache.ProductCache;
+import usecase_diagram.cache.ReadThroughCache;
+import usecase_diagram.ratelimit.AdaptiveConcurrencyLimit;
+import usecase_diagram.ratelimit.ConcurrencyLimitFilter;
+import usecase_diagram.services.OrderIdempotencyService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the counters the store components already keep: read-through cache hits,
+ * misses, evictions and size, and the current concurrency limits with their in-flight
+ * and rejected requests.
+ */
+@Component
+public class StoreMeterBinder implements MeterBinder {
+    
+    @Autowired
+    private ProductCache productCache;
+    
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+    
+    @Autowired
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindCache(registry, "product-by-id", productCache.getByIdCache());
+        bindCache(registry, "product-by-sku", productCache.getBySkuCache());
+        bindCache(registry, "idempotency", orderIdempotencyService.getResultCache());
+        bindLimit(registry, "read", concurrencyLimitFilter.getReadLimit());
+        bindLimit(registry, "write", concurrencyLimitFilter.getWriteLimit());
+    }
+    
+    // Helper methods
+    private static void bindCache(MeterRegistry registry, String name, ReadThroughCache<?, ?> cache) {
+        FunctionCounter.builder("store.cache.hits", cache, ReadThroughCache::getHits)
+            .tag("cache", name).register(registry);
+        FunctionCounter.builder("store.cache.misses", cache, ReadThroughCache::getMisses)
+            .tag("cache", name).register(registry);
+        FunctionCounter.builder("store.cache.evictions", cache, ReadThroughCache::getEvictions)
+            .tag("cache", name).register(registry);
+        Gauge.builder("store.cache.size", cache, ReadThroughCache::size)
+            .tag("cache", name).register(registry);
+    }
+    
+    private static void bindLimit(MeterRegistry registry, String kind, AdaptiveConcurrencyLimit limit) {
+        Gauge.builder("store.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+            .tag("kind", kind).register(registry);
+        Gauge.builder("store.concurrency.in_flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+            .tag("kind", kind).register(registry);
+        FunctionCounter.builder("store.concurrency.rejected", limit, AdaptiveConcurrencyLimit::getRejected)
+            .tag("kind", kind).register(registry);
+    }
+}
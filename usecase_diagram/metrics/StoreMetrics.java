@@ -0,0 +1,91 @@
+package usecase_diagram.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Use-case level meters of the store.
+ * store.usecase is a timer per service operation and outcome, with a percentile histogram
+ * so latency quantiles can be aggregated across instances. Meters are created once per
+ * operation and outcome and looked up by Method afterwards, so recording a call costs a
+ * map lookup and a timer update.
+ */
+@Component
+public class StoreMetrics {
+    
+    private final MeterRegistry registry;
+    private final Map<Method, AtomicReferenceArray<Timer>> useCaseTimers = new ConcurrentHashMap<>();
+    private final Map<Method, Counter> notFoundCounters = new ConcurrentHashMap<>();
+    private final DistributionSummary orderLines;
+    private final Counter stockRejections;
+    private final Counter droppedJournalRecords;
+    
+    public StoreMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.orderLines = DistributionSummary.builder("store.orders.lines")
+            .description("Order lines per placed order")
+            .register(registry);
+        this.stockRejections = Counter.builder("store.orders.rejected.stock")
+            .description("Orders rejected for insufficient stock")
+            .register(registry);
+        this.droppedJournalRecords = Counter.builder("store.orders.intake.dropped")
+            .description("Intake journal records skipped because they could not be read as an order")
+            .register(registry);
+    }
+    
+    /**
+     * Outcome tag of a use-case call.
+     */
+    public enum Outcome {
+        SUCCESS,
+        NOT_FOUND,
+        REJECTED_STOCK,
+        ERROR
+    }
+    
+    public Timer useCaseTimer(Method operation, Outcome outcome) {
+        AtomicReferenceArray<Timer> timers = useCaseTimers.computeIfAbsent(operation,
+            m -> new AtomicReferenceArray<>(Outcome.values().length));
+        Timer timer = timers.get(outcome.ordinal());
+        if (timer == null) {
+            // Registered on first use so unused outcomes add no series; registering twice returns the same timer
+            timer = Timer.builder("store.usecase")
+                .description("Latency of store use cases")
+                .tag("service", operation.getDeclaringClass().getSimpleName())
+                .tag("operation", operation.getName())
+                .tag("outcome", outcome.name().toLowerCase())
+                .publishPercentileHistogram()
+                .register(registry);
+            timers.set(outcome.ordinal(), timer);
+        }
+        return timer;
+    }
+    
+    public void notFound(Method operation) {
+        notFoundCounters.computeIfAbsent(operation, m -> Counter.builder("store.usecase.not_found")
+            .description("Use-case calls that referenced a missing customer, order or product")
+            .tag("service", m.getDeclaringClass().getSimpleName())
+            .tag("operation", m.getName())
+            .register(registry)).increment();
+    }
+    
+    public void orderPlaced(int lines) {
+        orderLines.record(lines);
+    }
+    
+    public void orderRejectedForStock() {
+        stockRejections.increment();
+    }
+    
+    public void journalRecordDropped() {
+        droppedJournalRecords.increment();
+    }
+}
@@ -0,0 +1,55 @@
+package usecase_diagram.metrics;
+
+import usecase_diagram.exceptions.InsufficientStockException;
+import usecase_diagram.exceptions.ResourceNotFoundException;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times each public service call into StoreMetrics, tagged with its outcome.
+ */
+public class UseCaseMetricsInterceptor implements MethodInterceptor {
+    
+    private final ObjectProvider<StoreMetrics> metricsProvider;
+    private volatile StoreMetrics metrics;
+    
+    public UseCaseMetricsInterceptor(ObjectProvider<StoreMetrics> metricsProvider) {
+        this.metricsProvider = metricsProvider;
+    }
+    
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        StoreMetrics storeMetrics = metrics();
+        long start = System.nanoTime();
+        StoreMetrics.Outcome outcome = StoreMetrics.Outcome.ERROR;
+        try {
+            Object result = invocation.proceed();
+            outcome = StoreMetrics.Outcome.SUCCESS;
+            return result;
+        } catch (ResourceNotFoundException e) {
+            outcome = StoreMetrics.Outcome.NOT_FOUND;
+            storeMetrics.notFound(invocation.getMethod());
+            throw e;
+        } catch (InsufficientStockException e) {
+            outcome = StoreMetrics.Outcome.REJECTED_STOCK;
+            throw e;
+        } finally {
+            storeMetrics.useCaseTimer(invocation.getMethod(), outcome)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    // Helper methods
+    private StoreMetrics metrics() {
+        // Resolved on first call: the post-processor creating this interceptor runs before the registry exists
+        StoreMetrics current = metrics;
+        if (current == null) {
+            current = metricsProvider.getObject();
+            metrics = current;
+        }
+        return current;
+    }
+}
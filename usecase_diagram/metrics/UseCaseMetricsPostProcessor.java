@@ -0,0 +1,39 @@
+package usecase_diagram.metrics;
+
+import usecase_diagram.services.OrderService;
+import usecase_diagram.services.ProductService;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Times every public OrderService and ProductService method as a use case.
+ * The timing advice is added ahead of the transaction advice, so a call's latency
+ * includes its commit.
+ */
+@Component
+public class UseCaseMetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+    
+    private static final long serialVersionUID = 1L;
+    
+    public UseCaseMetricsPostProcessor(ObjectProvider<StoreMetrics> storeMetrics) {
+        ClassFilter services = clazz ->
+            OrderService.class.isAssignableFrom(clazz) || ProductService.class.isAssignableFrom(clazz);
+        StaticMethodMatcher publicMethods = new StaticMethodMatcher() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        };
+        this.advisor = new DefaultPointcutAdvisor(new ComposablePointcut(services, publicMethods),
+            new UseCaseMetricsInterceptor(storeMetrics));
+        setBeforeExistingAdvisors(true);
+    }
+}
@@ -0,0 +1,46 @@
+package usecase_diagram.models;
+
+import java.math.BigDecimal;
+
+/**
+ * Money amounts in the store currency, held as primitive long minor units (cents).
+ * Prices and totals are stored, computed and serialized as minor units, so order
+ * totals are exact and the pricing loop does no boxing. Arithmetic fails on
+ * overflow instead of wrapping.
+ */
+public final class Money {
+    
+    /**
+     * Number of decimal places between major and minor units.
+     */
+    public static final int SCALE = 2;
+    
+    private Money() {
+    }
+    
+    /**
+     * Total of a line: unit price times quantity.
+     */
+    public static long lineTotal(long unitPriceMinor, int quantity) {
+        return Math.multiplyExact(unitPriceMinor, quantity);
+    }
+    
+    public static long add(long amountMinor, long otherMinor) {
+        return Math.addExact(amountMinor, otherMinor);
+    }
+    
+    /**
+     * Convert a decimal amount such as 19.99 to minor units.
+     * Fails if the amount has more decimal places than the currency.
+     */
+    public static long fromDecimal(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+    
+    /**
+     * Convert minor units to a decimal amount for display.
+     */
+    public static BigDecimal toDecimal(long amountMinor) {
+        return BigDecimal.valueOf(amountMinor, SCALE);
+    }
+}
@@ -7,26 +7,43 @@ import java.util.List;
 
 /**
  * Order entity representing an order in the online store system.
+ * The (date_received, id) indexes back the keyset-paginated order listings.
+ * Idempotency keys are unique per customer, not globally.
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "ix_orders_date_received_id", columnList = "date_received, id"),
+    @Index(name = "ix_orders_status_date_received_id", columnList = "status, date_received, id"),
+    @Index(name = "ix_orders_customer_date_received_id", columnList = "customer_id, date_received, id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_orders_customer_idempotency_key", columnNames = {"customer_id", "idempotency_key"})
+})
 public class Order {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true)
     private String orderNumber;
     
+    // Client-supplied Idempotency-Key the order was placed with, if any
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+    
+    // Hash of the request placed with the idempotency key, to detect a key reused for another order
+    @Column(name = "request_fingerprint", length = 64)
+    private String requestFingerprint;
+    
     @Column(nullable = false)
     private LocalDateTime dateReceived;
     
     @Column(nullable = false)
     private boolean isPrepaid;
     
-    @Column(nullable = false)
-    private Double totalPrice;
+    @Column(name = "total_price_minor", nullable = false)
+    private long totalPriceMinor;
     
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -63,11 +80,11 @@ public class Order {
         this.updatedAt = LocalDateTime.now();
     }
     
-    public Order(String orderNumber, boolean isPrepaid, Double totalPrice, Customer customer) {
+    public Order(String orderNumber, boolean isPrepaid, long totalPriceMinor, Customer customer) {
         this();
         this.orderNumber = orderNumber;
         this.isPrepaid = isPrepaid;
-        this.totalPrice = totalPrice;
+        this.totalPriceMinor = totalPriceMinor;
         this.customer = customer;
     }
     
@@ -94,6 +111,22 @@ public class Order {
         this.orderNumber = orderNumber;
     }
     
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+    
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+    
+    public String getRequestFingerprint() {
+        return requestFingerprint;
+    }
+    
+    public void setRequestFingerprint(String requestFingerprint) {
+        this.requestFingerprint = requestFingerprint;
+    }
+    
     public LocalDateTime getDateReceived() {
         return dateReceived;
     }
@@ -110,12 +143,12 @@ public class Order {
         isPrepaid = prepaid;
     }
     
-    public Double getTotalPrice() {
-        return totalPrice;
+    public long getTotalPriceMinor() {
+        return totalPriceMinor;
     }
     
-    public void setTotalPrice(Double totalPrice) {
-        this.totalPrice = totalPrice;
+    public void setTotalPriceMinor(long totalPriceMinor) {
+        this.totalPriceMinor = totalPriceMinor;
     }
     
     public OrderStatus getStatus() {
@@ -10,7 +10,8 @@ import jakarta.persistence.*;
 public class OrderLine {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_lines_seq")
+    @SequenceGenerator(name = "order_lines_seq", sequenceName = "order_lines_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -24,17 +25,17 @@ public class OrderLine {
     @Column(nullable = false)
     private Integer quantity;
     
-    @Column(nullable = false)
-    private Double unitPrice;
+    @Column(name = "unit_price_minor", nullable = false)
+    private long unitPriceMinor;
     
     // Constructors
     public OrderLine() {
     }
     
-    public OrderLine(Product product, Integer quantity, Double unitPrice) {
+    public OrderLine(Product product, Integer quantity, long unitPriceMinor) {
         this.product = product;
         this.quantity = quantity;
-        this.unitPrice = unitPrice;
+        this.unitPriceMinor = unitPriceMinor;
     }
     
     // Getters and Setters
@@ -70,16 +71,16 @@ public class OrderLine {
         this.quantity = quantity;
     }
     
-    public Double getUnitPrice() {
-        return unitPrice;
+    public long getUnitPriceMinor() {
+        return unitPriceMinor;
     }
     
-    public void setUnitPrice(Double unitPrice) {
-        this.unitPrice = unitPrice;
+    public void setUnitPriceMinor(long unitPriceMinor) {
+        this.unitPriceMinor = unitPriceMinor;
     }
     
     // Helper method
-    public Double getLineTotal() {
-        return quantity * unitPrice;
+    public long getLineTotalMinor() {
+        return Money.lineTotal(unitPriceMinor, quantity);
     }
 }
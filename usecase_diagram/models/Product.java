@@ -1,17 +1,22 @@
 package usecase_diagram.models;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
 /**
  * Product entity representing a product in the online store.
+ * Updates only write changed columns so admin edits do not overwrite
+ * stock_quantity written back by the StockReservationLedger.
  */
 @Entity
+@DynamicUpdate
 @Table(name = "products")
 public class Product {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true)
@@ -23,8 +28,8 @@ public class Product {
     @Column(length = 1000)
     private String description;
     
-    @Column(nullable = false)
-    private Double price;
+    @Column(name = "price_minor", nullable = false)
+    private long priceMinor;
     
     @Column(nullable = false)
     private Integer stockQuantity;
@@ -47,12 +52,12 @@ public class Product {
         this.updatedAt = LocalDateTime.now();
     }
     
-    public Product(String sku, String name, String description, Double price, Integer stockQuantity, String category) {
+    public Product(String sku, String name, String description, long priceMinor, Integer stockQuantity, String category) {
         this();
         this.sku = sku;
         this.name = name;
         this.description = description;
-        this.price = price;
+        this.priceMinor = priceMinor;
         this.stockQuantity = stockQuantity;
         this.category = category;
     }
@@ -96,12 +101,12 @@ public class Product {
         this.description = description;
     }
     
-    public Double getPrice() {
-        return price;
+    public long getPriceMinor() {
+        return priceMinor;
     }
     
-    public void setPrice(Double price) {
-        this.price = price;
+    public void setPriceMinor(long priceMinor) {
+        this.priceMinor = priceMinor;
     }
     
     public Integer getStockQuantity() {
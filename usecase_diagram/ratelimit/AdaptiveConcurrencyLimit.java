@@ -0,0 +1,96 @@
+package usecase_diagram.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to observed latency (AIMD).
+ * Requests beyond the limit are rejected at once instead of queueing. While requests
+ * complete within the latency threshold and the limit is actually being used, it grows
+ * by about one per limit-worth of requests; a slow or failed request cuts it by the
+ * backoff ratio, at most once per threshold interval so one burst counts as one signal.
+ */
+public final class AdaptiveConcurrencyLimit {
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    
+    private volatile double limit;
+    private long lastDecrease;
+    
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    long latencyThresholdNanos, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit settings");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.lastDecrease = System.nanoTime() - latencyThresholdNanos;
+    }
+    
+    /**
+     * Take an in-flight slot.
+     * @return false if the limit is reached; the caller must not proceed
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Give back a slot and adjust the limit from how the request went.
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        onSample(latencyNanos, failed, inFlightBefore);
+    }
+    
+    /**
+     * Give back a slot without using the request as a latency sample, e.g. a long-running stream.
+     */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+    
+    public int getLimit() {
+        return (int) limit;
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+    
+    public long getRejected() {
+        return rejected.sum();
+    }
+    
+    // Helper methods
+    private synchronized void onSample(long latencyNanos, boolean failed, int inFlightBefore) {
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            long now = System.nanoTime();
+            if (now - lastDecrease >= latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecrease = now;
+            }
+        } else if (inFlightBefore * 2 >= limit) {
+            // Only grow when at least half the limit is in use, otherwise it says nothing about capacity
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package usecase_diagram.ratelimit;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load shedding for the order and product APIs.
+ * Reads (GET/HEAD) and writes each have their own AdaptiveConcurrencyLimit, so bulk reads
+ * cannot take the capacity order placement needs. A request over its limit is answered
+ * with 503 and Retry-After before its body is read. Responses with a 5xx status count
+ * as failures. Async requests such as the order export hold their slot until they
+ * complete, but their duration is not used as a latency sample.
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+    
+    public ConcurrencyLimitFilter(
+            @Value("${store.concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${store.concurrency-limit.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${store.concurrency-limit.read.initial:50}") int readInitial,
+            @Value("${store.concurrency-limit.read.max:400}") int readMax,
+            @Value("${store.concurrency-limit.read.latency-threshold-ms:250}") long readThresholdMs,
+            @Value("${store.concurrency-limit.write.initial:20}") int writeInitial,
+            @Value("${store.concurrency-limit.write.max:200}") int writeMax,
+            @Value("${store.concurrency-limit.write.latency-threshold-ms:500}") long writeThresholdMs) {
+        this.enabled = enabled;
+        this.readLimit = new AdaptiveConcurrencyLimit(readInitial, 1, readMax,
+            TimeUnit.MILLISECONDS.toNanos(readThresholdMs), backoffRatio);
+        this.writeLimit = new AdaptiveConcurrencyLimit(writeInitial, 1, writeMax,
+            TimeUnit.MILLISECONDS.toNanos(writeThresholdMs), backoffRatio);
+    }
+    
+    public AdaptiveConcurrencyLimit getReadLimit() {
+        return readLimit;
+    }
+    
+    public AdaptiveConcurrencyLimit getWriteLimit() {
+        return writeLimit;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !enabled || !(path.startsWith("/api/orders") || path.startsWith("/api/products"));
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        AdaptiveConcurrencyLimit limit = read ? readLimit : writeLimit;
+        if (!limit.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+        
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(limit));
+            } else {
+                limit.release(System.nanoTime() - start, failed || response.getStatus() >= 500);
+            }
+        }
+    }
+    
+    private static final class ReleaseOnCompletion implements AsyncListener {
+        private final AdaptiveConcurrencyLimit limit;
+        
+        private ReleaseOnCompletion(AdaptiveConcurrencyLimit limit) {
+            this.limit = limit;
+        }
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limit.releaseWithoutSample();
+        }
+        
+        // Timeouts and errors are followed by onComplete, which releases the slot
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
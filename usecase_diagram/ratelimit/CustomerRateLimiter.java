@@ -0,0 +1,85 @@
+package usecase_diagram.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-customer token-bucket rate limits, one bucket per customer and endpoint class.
+ * Rates and bucket sizes are configured per class under store.rate-limit.*. A customer
+ * under its limit costs one map lookup and one CAS; buckets are created on first use
+ * and dropped once they have been full (unused) for store.rate-limit.idle-minutes.
+ */
+@Component
+public class CustomerRateLimiter {
+    
+    private final boolean enabled;
+    private final long idleNanos;
+    private final Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+    
+    public CustomerRateLimiter(
+            @Value("${store.rate-limit.enabled:true}") boolean enabled,
+            @Value("${store.rate-limit.idle-minutes:10}") long idleMinutes,
+            @Value("${store.rate-limit.order-placement.per-second:5}") double placementRate,
+            @Value("${store.rate-limit.order-placement.burst:20}") int placementBurst,
+            @Value("${store.rate-limit.order-reads.per-second:20}") double readRate,
+            @Value("${store.rate-limit.order-reads.burst:50}") int readBurst) {
+        this.enabled = enabled;
+        this.idleNanos = TimeUnit.MINUTES.toNanos(idleMinutes);
+        limits.put(EndpointClass.ORDER_PLACEMENT, new Limit(placementRate, placementBurst));
+        limits.put(EndpointClass.ORDER_READS, new Limit(readRate, readBurst));
+    }
+    
+    /**
+     * Take one token for a customer.
+     * @return 0 if the request is admitted, otherwise the nanoseconds until it would be
+     */
+    public long tryAcquire(EndpointClass endpoint, Long customerId) {
+        if (!enabled || customerId == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        Limit limit = limits.get(endpoint);
+        TokenBucket bucket = limit.buckets.get(customerId);
+        if (bucket == null) {
+            bucket = limit.buckets.computeIfAbsent(customerId,
+                id -> new TokenBucket(limit.tokensPerSecond, limit.burst, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+    
+    /**
+     * Get a customer's bucket for an endpoint class, or null if it has none.
+     */
+    public TokenBucket getBucket(EndpointClass endpoint, Long customerId) {
+        return limits.get(endpoint).buckets.get(customerId);
+    }
+    
+    /**
+     * Drop buckets that have been full for longer than the idle timeout.
+     * Their next request starts from a full bucket again, which is what they hold now.
+     */
+    @Scheduled(fixedDelayString = "${store.rate-limit.cleanup-interval-ms:60000}")
+    public void evictIdle() {
+        long idleSince = System.nanoTime() - idleNanos;
+        for (Limit limit : limits.values()) {
+            limit.buckets.values().removeIf(bucket -> bucket.isIdleSince(idleSince));
+        }
+    }
+    
+    private static final class Limit {
+        private final double tokensPerSecond;
+        private final int burst;
+        private final Map<Long, TokenBucket> buckets = new ConcurrentHashMap<>();
+        
+        private Limit(double tokensPerSecond, int burst) {
+            this.tokensPerSecond = tokensPerSecond;
+            this.burst = burst;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package usecase_diagram.ratelimit;
+
+/**
+ * Groups of endpoints that share one rate limit per customer.
+ */
+public enum EndpointClass {
+    /**
+     * POST /api/orders
+     */
+    ORDER_PLACEMENT,
+    
+    /**
+     * GET /api/orders/customer/{customerId}
+     */
+    ORDER_READS
+}
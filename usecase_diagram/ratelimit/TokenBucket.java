@@ -0,0 +1,72 @@
+package usecase_diagram.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free token bucket for one key, kept as a single theoretical arrival time (GCRA):
+ * each admitted request pushes it forward by one token's refill interval, and a request
+ * is rejected if that would put it more than a full bucket ahead of now. Acquiring is one
+ * CAS on a long and allocates nothing.
+ */
+public final class TokenBucket {
+    
+    private final long refillIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrival;
+    
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    public TokenBucket(double tokensPerSecond, int capacity, long now) {
+        if (tokensPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("Token bucket rate and capacity must be positive");
+        }
+        this.refillIntervalNanos = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.capacityNanos = refillIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+    
+    /**
+     * Take one token.
+     * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + refillIntervalNanos;
+            long ahead = next - now;
+            if (ahead > capacityNanos) {
+                rejected.increment();
+                return ahead - capacityNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                admitted.increment();
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * Tokens currently in the bucket.
+     */
+    public long getAvailableTokens(long now) {
+        long ahead = Math.max(0, theoreticalArrival.get() - now);
+        return (capacityNanos - ahead) / refillIntervalNanos;
+    }
+    
+    /**
+     * Whether the bucket has been full since before a point in time, i.e. unused since then.
+     */
+    public boolean isIdleSince(long time) {
+        return theoreticalArrival.get() < time;
+    }
+    
+    public long getAdmitted() {
+        return admitted.sum();
+    }
+    
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -1,17 +1,87 @@
 package usecase_diagram.repository;
 
 import usecase_diagram.models.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Order entity.
+ * The *WithDetails read paths fetch the customer, order lines and line products
+ * in the same statement, so mapping the result to DTOs runs no further queries.
+ * The find*IdsBefore queries return one keyset page of ids, newest first, positioned
+ * after the (dateReceived, id) of the previous page's last order.
+ * streamAllForExport reads orders through a JDBC cursor for bulk export; callers
+ * initialize order lines per chunk with fetchOrderLines.
  */
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     Optional<Order> findByOrderNumber(String orderNumber);
     List<Order> findByCustomerId(Long customerId);
     List<Order> findByStatus(Order.OrderStatus status);
+    
+    @EntityGraph(attributePaths = {"customer", "orderLines", "orderLines.product"})
+    Optional<Order> findWithDetailsById(Long id);
+    
+    @EntityGraph(attributePaths = {"customer", "orderLines", "orderLines.product"})
+    Optional<Order> findWithDetailsByOrderNumber(String orderNumber);
+    
+    @EntityGraph(attributePaths = {"customer", "orderLines", "orderLines.product"})
+    Optional<Order> findWithDetailsByCustomerIdAndIdempotencyKey(Long customerId, String idempotencyKey);
+    
+    /**
+     * Highest order number matching a LIKE pattern; fixed-width numbers sort in issue order.
+     */
+    @Query("select max(o.orderNumber) from Order o where o.orderNumber like :pattern")
+    Optional<String> findMaxOrderNumberLike(@Param("pattern") String pattern);
+    
+    @Query("select o.orderNumber from Order o where o.orderNumber in :orderNumbers")
+    Set<String> findExistingOrderNumbers(@Param("orderNumbers") Collection<String> orderNumbers);
+    
+    @Query("select o.updatedAt from Order o where o.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+    
+    @EntityGraph(attributePaths = {"customer", "orderLines", "orderLines.product"})
+    List<Order> findWithDetailsByIdIn(Collection<Long> ids);
+    
+    @Query("select o.id from Order o "
+        + "where o.dateReceived < :date or (o.dateReceived = :date and o.id < :id) "
+        + "order by o.dateReceived desc, o.id desc")
+    List<Long> findIdsBefore(@Param("date") LocalDateTime date, @Param("id") Long id, Pageable pageable);
+    
+    @Query("select o.id from Order o where o.status = :status "
+        + "and (o.dateReceived < :date or (o.dateReceived = :date and o.id < :id)) "
+        + "order by o.dateReceived desc, o.id desc")
+    List<Long> findIdsByStatusBefore(@Param("status") Order.OrderStatus status,
+        @Param("date") LocalDateTime date, @Param("id") Long id, Pageable pageable);
+    
+    @Query("select o.id from Order o where o.customer.id = :customerId "
+        + "and (o.dateReceived < :date or (o.dateReceived = :date and o.id < :id)) "
+        + "order by o.dateReceived desc, o.id desc")
+    List<Long> findIdsByCustomerIdBefore(@Param("customerId") Long customerId,
+        @Param("date") LocalDateTime date, @Param("id") Long id, Pageable pageable);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from Order o join fetch o.customer order by o.id")
+    Stream<Order> streamAllForExport();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select distinct o from Order o left join fetch o.orderLines l left join fetch l.product "
+        + "where o in :orders")
+    List<Order> fetchOrderLines(@Param("orders") Collection<Order> orders);
 }
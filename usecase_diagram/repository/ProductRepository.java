@@ -1,17 +1,57 @@
 package usecase_diagram.repository;
 
+import usecase_diagram.dto.ProductDTO;
 import usecase_diagram.models.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository interface for Product entity.
+ * The *AsDTO queries project rows straight into ProductDTO without creating managed entities.
  */
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+    String SELECT_PRODUCT_DTO = "select new usecase_diagram.dto.ProductDTO(p.id, p.sku, p.name, "
+        + "p.description, p.priceMinor, p.stockQuantity, p.category, p.isActive, p.createdAt, p.updatedAt) "
+        + "from Product p";
+    
     Optional<Product> findBySku(String sku);
     List<Product> findByCategory(String category);
     List<Product> findByIsActive(Boolean isActive);
+    
+    @Query(SELECT_PRODUCT_DTO)
+    List<ProductDTO> findAllAsDTO();
+    
+    @Query(SELECT_PRODUCT_DTO + " where p.category = :category")
+    List<ProductDTO> findByCategoryAsDTO(@Param("category") String category);
+    
+    @Query(SELECT_PRODUCT_DTO + " where p.isActive = :isActive")
+    List<ProductDTO> findByIsActiveAsDTO(@Param("isActive") Boolean isActive);
+    
+    @Query("select p.id, p.stockQuantity from Product p")
+    List<Object[]> findAllStockQuantities();
+    
+    @Query("select p.id from Product p where p.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Decrement stock only if enough is left.
+     * @return 1 if the stock was decremented, 0 if the product is missing or has insufficient stock
+     */
+    @Modifying
+    @Query("update Product p set p.stockQuantity = p.stockQuantity - :quantity, p.updatedAt = local datetime "
+        + "where p.id = :id and p.stockQuantity >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+    
+    @Modifying
+    @Query("update Product p set p.stockQuantity = p.stockQuantity + :quantity, p.updatedAt = local datetime "
+        + "where p.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
 }
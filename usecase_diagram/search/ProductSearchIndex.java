@@ -0,0 +1,266 @@
+package usecase_diagram.search;
+
+import usecase_diagram.dto.ProductDTO;
+import usecase_diagram.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory inverted index over the name, description, SKU and category of active products.
+ * Every query term must match; the last term also matches as a prefix so results update
+ * while the user types, and matches every dictionary term it starts. Results are ranked by summed field weights and the top k are
+ * selected with a bounded heap. Queries never lock or touch the database; writes are
+ * serialized and applied incrementally from ProductService. The index holds only terms
+ * and product ids, callers resolve the ids to current products.
+ */
+@Component
+public class ProductSearchIndex {
+    
+    private static final int SKU_WEIGHT = 8;
+    private static final int NAME_WEIGHT = 4;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    // term -> (product id -> weight); replaced as a whole by rebuild
+    private volatile NavigableMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    
+    // product id -> indexed terms, used to remove stale terms on update; guarded by this
+    private Map<Long, Map<String, Integer>> termsByProduct = new HashMap<>();
+    
+    // Writes made while a rebuild is reading from the DB, re-applied on top of it; null marks a removal
+    private final Map<Long, ProductDTO> changedDuringRebuild = new HashMap<>();
+    private boolean rebuilding;
+    
+    /**
+     * Build the index from the products table on startup.
+     * The new index is built off-lock and swapped in once complete; a failed load keeps the current one.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        }
+        NavigableMap<String, Map<Long, Integer>> newPostings = null;
+        Map<Long, Map<String, Integer>> newTerms = new HashMap<>();
+        try {
+            List<ProductDTO> all = productRepository.findByIsActiveAsDTO(true);
+            NavigableMap<String, Map<Long, Integer>> loaded = new ConcurrentSkipListMap<>();
+            for (ProductDTO product : all) {
+                addProduct(loaded, newTerms, product);
+            }
+            newPostings = loaded;
+        } finally {
+            synchronized (this) {
+                if (newPostings != null) {
+                    for (Map.Entry<Long, ProductDTO> change : changedDuringRebuild.entrySet()) {
+                        removeProduct(newPostings, newTerms, change.getKey());
+                        if (change.getValue() != null) {
+                            addProduct(newPostings, newTerms, change.getValue());
+                        }
+                    }
+                    termsByProduct = newTerms;
+                    postings = newPostings;
+                }
+                changedDuringRebuild.clear();
+                rebuilding = false;
+            }
+        }
+    }
+    
+    /**
+     * Add, replace or remove a product depending on whether it is active.
+     */
+    public synchronized void index(ProductDTO product) {
+        if (rebuilding) {
+            changedDuringRebuild.put(product.getId(), product);
+        }
+        removeProduct(postings, termsByProduct, product.getId());
+        addProduct(postings, termsByProduct, product);
+    }
+    
+    /**
+     * Remove a product from the index.
+     */
+    public synchronized void remove(Long productId) {
+        if (rebuilding) {
+            changedDuringRebuild.put(productId, null);
+        }
+        removeProduct(postings, termsByProduct, productId);
+    }
+    
+    /**
+     * Search for products matching every term of the query, best match first.
+     * Returns product ids; the index keeps no product data that could go stale.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        
+        NavigableMap<String, Map<Long, Integer>> postings = this.postings;
+        List<Map<Long, Integer>> exactTerms = new ArrayList<>();
+        for (String token : tokens.subList(0, tokens.size() - 1)) {
+            Map<Long, Integer> matches = postings.get(token);
+            if (matches == null) {
+                return List.of();
+            }
+            exactTerms.add(matches);
+        }
+        Map<Long, Integer> prefixMatches = expandPrefix(postings, tokens.get(tokens.size() - 1));
+        if (prefixMatches.isEmpty()) {
+            return List.of();
+        }
+        
+        // Start from the smallest posting set and probe the others only for its candidates
+        exactTerms.sort(Comparator.comparingInt(Map::size));
+        Map<Long, Integer> scores;
+        if (exactTerms.isEmpty() || prefixMatches.size() <= exactTerms.get(0).size()) {
+            scores = prefixMatches;
+            for (Map<Long, Integer> termPostings : exactTerms) {
+                retainMatches(scores, termPostings);
+            }
+        } else {
+            scores = new HashMap<>(exactTerms.get(0));
+            for (Map<Long, Integer> termPostings : exactTerms.subList(1, exactTerms.size())) {
+                retainMatches(scores, termPostings);
+            }
+            retainMatches(scores, prefixMatches);
+        }
+        
+        return topK(scores, limit);
+    }
+    
+    public synchronized int size() {
+        return termsByProduct.size();
+    }
+    
+    // Helper methods
+    private static void addProduct(NavigableMap<String, Map<Long, Integer>> postings,
+                                   Map<Long, Map<String, Integer>> termsByProduct, ProductDTO product) {
+        if (!Boolean.TRUE.equals(product.getIsActive())) {
+            return;
+        }
+        
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, product.getSku(), SKU_WEIGHT);
+        addTerms(terms, product.getName(), NAME_WEIGHT);
+        addTerms(terms, product.getCategory(), CATEGORY_WEIGHT);
+        addTerms(terms, product.getDescription(), DESCRIPTION_WEIGHT);
+        
+        termsByProduct.put(product.getId(), terms);
+        terms.forEach((term, weight) ->
+            postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(product.getId(), weight));
+    }
+    
+    private static void removeProduct(NavigableMap<String, Map<Long, Integer>> postings,
+                                      Map<Long, Map<String, Integer>> termsByProduct, Long productId) {
+        Map<String, Integer> terms = termsByProduct.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Integer> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(productId);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+    
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean tokenChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+    
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+    
+    /**
+     * Products matching any dictionary term that starts with prefix, with their best weight
+     * across those terms. Every term is merged, so a short prefix costs more but is complete.
+     */
+    private static Map<Long, Integer> expandPrefix(NavigableMap<String, Map<Long, Integer>> postings,
+                                                   String prefix) {
+        Map<Long, Integer> matches = new HashMap<>();
+        for (Map<Long, Integer> termPostings
+                : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            termPostings.forEach((productId, weight) -> matches.merge(productId, weight, Math::max));
+        }
+        return matches;
+    }
+    
+    /**
+     * Keep only the candidates found in the posting set, adding their weight.
+     */
+    private static void retainMatches(Map<Long, Integer> scores, Map<Long, Integer> termPostings) {
+        Iterator<Map.Entry<Long, Integer>> iterator = scores.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Integer> candidate = iterator.next();
+            Integer weight = termPostings.get(candidate.getKey());
+            if (weight == null) {
+                iterator.remove();
+            } else {
+                candidate.setValue(candidate.getValue() + weight);
+            }
+        }
+    }
+    
+    private static List<Long> topK(Map<Long, Integer> scores, int limit) {
+        // Ranks higher score first, then lower id; the heap keeps the worst of the current top k on top
+        Comparator<Map.Entry<Long, Integer>> ranking = Map.Entry.<Long, Integer>comparingByValue().reversed()
+            .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Integer>> heap = new PriorityQueue<>(limit + 1, ranking.reversed());
+        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        
+        List<Map.Entry<Long, Integer>> top = new ArrayList<>(heap);
+        top.sort(ranking);
+        List<Long> results = new ArrayList<>(top.size());
+        for (Map.Entry<Long, Integer> entry : top) {
+            results.add(entry.getKey());
+        }
+        return Collections.unmodifiableList(results);
+    }
+}
@@ -0,0 +1,164 @@
+package usecase_diagram.services;
+
+import usecase_diagram.dto.CreateOrderRequest;
+import usecase_diagram.dto.OrderDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Group commit for order placement, used when store.orders.group-commit.enabled=true.
+ * Concurrent callers are collected for up to store.orders.group-commit.window-ms or
+ * store.orders.group-commit.max-batch-size orders and placed together by
+ * {@link OrderService#placeOrderBatch}, so they share one connection, one transaction and
+ * one commit. Each caller still gets its own order or error. If the batch transaction
+ * fails as a whole, its orders are placed again one transaction each.
+ */
+@Component
+@ConditionalOnProperty(name = "store.orders.group-commit.enabled", havingValue = "true")
+public class OrderBatcher {
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @Value("${store.orders.group-commit.window-ms:2}")
+    private long windowMs;
+    
+    @Value("${store.orders.group-commit.max-batch-size:64}")
+    private int maxBatchSize;
+    
+    // Batches placed in parallel, each holding one DB connection
+    @Value("${store.orders.group-commit.workers:4}")
+    private int workers;
+    
+    private final BlockingQueue<PendingOrder> queue = new LinkedBlockingQueue<>();
+    
+    // Callers waiting for a result, including those in batches being placed
+    private final AtomicInteger waiting = new AtomicInteger();
+    
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running = true;
+    
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(this::run, "order-batcher-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+    
+    /**
+     * Place an order as part of the next batch and wait for its result.
+     */
+    public OrderDTO placeOrder(CreateOrderRequest request) {
+        PendingOrder pending = new PendingOrder(request);
+        waiting.incrementAndGet();
+        try {
+            queue.add(pending);
+            return pending.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+    
+    @PreDestroy
+    public void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+        List<PendingOrder> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending ->
+            pending.result.completeExceptionally(new IllegalStateException("Order placement is shutting down")));
+    }
+    
+    // Helper methods
+    private void run() {
+        while (running) {
+            try {
+                place(nextBatch());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+    
+    private List<PendingOrder> nextBatch() throws InterruptedException {
+        List<PendingOrder> batch = new ArrayList<>(maxBatchSize);
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            // Only hold the batch open while other callers could still join it
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0 || waiting.get() <= batch.size()) {
+                break;
+            }
+            PendingOrder next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+    
+    private void place(List<PendingOrder> batch) {
+        List<CreateOrderRequest> requests = new ArrayList<>(batch.size());
+        for (PendingOrder pending : batch) {
+            requests.add(pending.request);
+        }
+        
+        List<OrderOutcome> outcomes;
+        try {
+            outcomes = orderService.placeOrderBatch(requests);
+        } catch (RuntimeException e) {
+            // The shared transaction did not commit: isolate the orders from each other
+            for (PendingOrder pending : batch) {
+                try {
+                    pending.result.complete(orderService.placeOrder(pending.request));
+                } catch (RuntimeException orderError) {
+                    pending.result.completeExceptionally(orderError);
+                }
+            }
+            return;
+        }
+        
+        for (int i = 0; i < batch.size(); i++) {
+            OrderOutcome outcome = outcomes.get(i);
+            if (outcome.error() != null) {
+                batch.get(i).result.completeExceptionally(outcome.error());
+            } else {
+                batch.get(i).result.complete(outcome.order());
+            }
+        }
+    }
+    
+    private static final class PendingOrder {
+        private final CreateOrderRequest request;
+        private final CompletableFuture<OrderDTO> result = new CompletableFuture<>();
+        
+        private PendingOrder(CreateOrderRequest request) {
+            this.request = request;
+        }
+    }
+}
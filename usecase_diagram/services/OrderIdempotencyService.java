@@ -0,0 +1,107 @@
+package usecase_diagram.services;
+
+import usecase_diagram.cache.ReadThroughCache;
+import usecase_diagram.dto.CreateOrderRequest;
+import usecase_diagram.dto.OrderDTO;
+import usecase_diagram.exceptions.IdempotencyKeyReusedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Places each order at most once per customer and Idempotency-Key.
+ * Results are kept in a bounded, TTL-evicted cache: a duplicate arriving while the first
+ * request is in flight waits for its result, and one arriving later gets the cached order.
+ * The key is also stored in orders.idempotency_key, unique per customer, so a retry after
+ * an eviction or a restart, or one sent to another instance, fails to insert and is
+ * answered with the order already placed. Each order stores a fingerprint of its request;
+ * reusing a key for a different request is rejected instead of answered with that order.
+ */
+@Service
+public class OrderIdempotencyService {
+    
+    private static final int MAX_KEY_LENGTH = 255;
+    
+    @Autowired
+    private OrderService orderService;
+    
+    // customer id and key -> fingerprint of the placing request and the order placed
+    private final ReadThroughCache<String, IdempotentResult> results;
+    
+    public OrderIdempotencyService(
+            @Value("${store.orders.idempotency.maximum-size:10000}") int maximumSize,
+            @Value("${store.orders.idempotency.ttl-seconds:3600}") long ttlSeconds) {
+        this.results = new ReadThroughCache<>(maximumSize, ttlSeconds, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Place an order with placement unless the customer already placed one with the same key.
+     * A failed placement is not remembered, so the client can retry it with the same key.
+     * @throws IdempotencyKeyReusedException if the key was used for a different request
+     */
+    public OrderDTO placeOrder(String idempotencyKey, CreateOrderRequest request,
+                               Function<CreateOrderRequest, OrderDTO> placement) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        
+        String fingerprint = fingerprint(request);
+        IdempotentResult result = results.get(request.getCustomerId() + ":" + idempotencyKey, cacheKey -> {
+            request.setIdempotencyKey(idempotencyKey);
+            request.setRequestFingerprint(fingerprint);
+            try {
+                return new IdempotentResult(fingerprint, placement.apply(request));
+            } catch (DataIntegrityViolationException e) {
+                // Placed before with this key: return that order instead
+                OrderDTO order = orderService.findOrderByIdempotencyKey(
+                    request.getCustomerId(), idempotencyKey, fingerprint).orElseThrow(() -> e);
+                return new IdempotentResult(fingerprint, order);
+            }
+        });
+        
+        if (!result.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException("Idempotency-Key was already used for a different order");
+        }
+        return result.order();
+    }
+    
+    public ReadThroughCache<String, IdempotentResult> getResultCache() {
+        return results;
+    }
+    
+    // Helper methods
+    
+    /**
+     * SHA-256 over the customer, prepaid flag and order lines, in request order.
+     */
+    private static String fingerprint(CreateOrderRequest request) {
+        StringBuilder canonical = new StringBuilder()
+            .append(request.getCustomerId()).append('|')
+            .append(request.getIsPrepaid());
+        if (request.getOrderLines() != null) {
+            for (CreateOrderRequest.OrderLineRequest line : request.getOrderLines()) {
+                canonical.append('|').append(line.getProductId()).append('x').append(line.getQuantity());
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    /**
+     * The order placed for a key and the fingerprint of the request that placed it.
+     */
+    public record IdempotentResult(String fingerprint, OrderDTO order) {
+    }
+}
@@ -0,0 +1,14 @@
+package usecase_diagram.services;
+
+/**
+ * Generates order numbers for new orders.
+ * The default implementation is {@link SnowflakeOrderNumberGenerator}; declare another
+ * bean as @Primary to replace it.
+ */
+public interface OrderNumberGenerator {
+    
+    /**
+     * Generate the next order number. Must be unique across all application instances.
+     */
+    String nextOrderNumber();
+}
@@ -0,0 +1,17 @@
+package usecase_diagram.services;
+
+import usecase_diagram.dto.OrderDTO;
+
+/**
+ * Result of one order in a batch: the placed order, or the error that rejected it.
+ */
+public record OrderOutcome(OrderDTO order, RuntimeException error) {
+    
+    public static OrderOutcome placed(OrderDTO order) {
+        return new OrderOutcome(order, null);
+    }
+    
+    public static OrderOutcome rejected(RuntimeException error) {
+        return new OrderOutcome(null, error);
+    }
+}
@@ -1,18 +1,44 @@
 package usecase_diagram.services;
 
 import usecase_diagram.dto.*;
+import usecase_diagram.exceptions.IdempotencyKeyReusedException;
+import usecase_diagram.exceptions.InsufficientStockException;
+import usecase_diagram.exceptions.ResourceNotFoundException;
+import usecase_diagram.intake.JournaledOrder;
+import usecase_diagram.metrics.StoreMetrics;
 import usecase_diagram.models.*;
 import usecase_diagram.repository.OrderRepository;
 import usecase_diagram.repository.CustomerRepository;
 import usecase_diagram.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for Order operations.
@@ -22,6 +48,16 @@ import java.util.stream.Collectors;
 @Transactional
 public class OrderService {
     
+    // Sorts after every real order, so the first page starts from the newest one
+    private static final OrderCursor FIRST_PAGE =
+        new OrderCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    
+    // Orders mapped between persistence context clears during export
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     @Autowired
     private OrderRepository orderRepository;
     
@@ -31,66 +67,141 @@ public class OrderService {
     @Autowired
     private ProductRepository productRepository;
     
+    @Autowired(required = false)
+    private StockReservationLedger stockLedger;
+    
+    @Autowired
+    private OrderNumberGenerator orderNumberGenerator;
+    
+    @Autowired
+    private ProductService productService;
+    
+    @Autowired
+    private StoreMetrics storeMetrics;
+    
+    @Value("${store.stock.mode:LEDGER}")
+    private StockMode stockMode;
+    
+    @Value("${store.orders.default-page-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${store.orders.max-page-size:200}")
+    private int maxPageSize;
+    
     /**
      * Place Order - Use Case: Place Order (Visitor)
      */
     public OrderDTO placeOrder(CreateOrderRequest request) {
-        // Validate customer exists
-        Customer customer = customerRepository.findById(request.getCustomerId())
-            .orElseThrow(() -> new RuntimeException("Customer not found with id: " + request.getCustomerId()));
-        
-        // Create order
-        Order order = new Order();
-        order.setOrderNumber(generateOrderNumber());
-        order.setCustomer(customer);
-        order.setPrepaid(request.getIsPrepaid() != null ? request.getIsPrepaid() : false);
-        order.setStatus(Order.OrderStatus.PENDING);
-        order.setDateReceived(LocalDateTime.now());
+        return convertToDTO(createOrder(request, generateOrderNumber(), LocalDateTime.now()));
+    }
+    
+    /**
+     * Place a batch of orders whose order numbers were assigned up front, in one transaction.
+     * Orders whose number already exists are skipped, so re-applying a batch is harmless.
+     * Each order is received at the time it was accepted into the journal.
+     */
+    public void placeOrders(Collection<JournaledOrder> orders) {
+        Set<String> existing = orderRepository.findExistingOrderNumbers(orders.stream()
+            .map(JournaledOrder::orderNumber)
+            .collect(Collectors.toSet()));
+        for (JournaledOrder order : orders) {
+            if (!existing.contains(order.orderNumber())) {
+                // Records written before the accept time was journaled are received now
+                LocalDateTime dateReceived = order.acceptedAt() != null ? order.acceptedAt() : LocalDateTime.now();
+                createOrder(order.request(), order.orderNumber(), dateReceived);
+            }
+        }
+    }
+    
+    /**
+     * Place several orders in one transaction, each succeeding or failing on its own.
+     * Customers are loaded with one query and the inserts of all orders are flushed
+     * together in JDBC batches at commit. A rejected order gives back any stock it
+     * reserved and is reported in its outcome; the others are still committed.
+     * Unknown customers and products are rejected up front, because the lookups that
+     * would fail on them go through transactional proxies and mark the batch rollback-only.
+     */
+    public List<OrderOutcome> placeOrderBatch(List<CreateOrderRequest> requests) {
+        // Loads every customer into the persistence context, so createOrder finds them there
+        customerRepository.findAllById(requests.stream()
+            .map(CreateOrderRequest::getCustomerId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet()));
+        Set<Long> productIds = productRepository.findExistingIds(requests.stream()
+            .filter(request -> request.getOrderLines() != null)
+            .flatMap(request -> request.getOrderLines().stream())
+            .map(CreateOrderRequest.OrderLineRequest::getProductId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet()));
         
-        // Process order lines
-        Double totalPrice = 0.0;
+        List<OrderOutcome> outcomes = new ArrayList<>(requests.size());
+        for (CreateOrderRequest request : requests) {
+            try {
+                checkReferences(request, productIds);
+                outcomes.add(OrderOutcome.placed(
+                    convertToDTO(createOrder(request, generateOrderNumber(), LocalDateTime.now()))));
+            } catch (RuntimeException e) {
+                outcomes.add(OrderOutcome.rejected(e));
+            }
+        }
+        return outcomes;
+    }
+    
+    /**
+     * Check an order request against the customer and product catalog without placing it.
+     * Stock is not reserved, so a valid request can still be rejected when it is placed.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public void validateOrder(CreateOrderRequest request) {
+        if (request.getCustomerId() == null || !customerRepository.existsById(request.getCustomerId())) {
+            throw new ResourceNotFoundException("Customer not found with id: " + request.getCustomerId());
+        }
+        if (request.getOrderLines() == null || request.getOrderLines().isEmpty()) {
+            throw new RuntimeException("Order has no order lines");
+        }
         for (CreateOrderRequest.OrderLineRequest lineRequest : request.getOrderLines()) {
-            Product product = productRepository.findById(lineRequest.getProductId())
-                .orElseThrow(() -> new RuntimeException("Product not found with id: " + lineRequest.getProductId()));
-            
-            // Check stock availability
-            if (product.getStockQuantity() < lineRequest.getQuantity()) {
-                throw new RuntimeException("Insufficient stock for product: " + product.getName());
+            if (lineRequest.getQuantity() == null || lineRequest.getQuantity() < 1) {
+                throw new RuntimeException("Quantity must be positive for product: " + lineRequest.getProductId());
+            }
+            ProductDTO product = productService.getProduct(lineRequest.getProductId());
+            if (!Boolean.TRUE.equals(product.getIsActive())) {
+                throw new RuntimeException("Product is not available: " + product.getName());
             }
-            
-            OrderLine orderLine = new OrderLine();
-            orderLine.setProduct(product);
-            orderLine.setQuantity(lineRequest.getQuantity());
-            orderLine.setUnitPrice(product.getPrice());
-            order.addOrderLine(orderLine);
-            
-            totalPrice += orderLine.getLineTotal();
         }
-        
-        order.setTotalPrice(totalPrice);
-        
-        // Save order
-        Order savedOrder = orderRepository.save(order);
-        
-        return convertToDTO(savedOrder);
+    }
+    
+    /**
+     * Find an order by its order number
+     */
+    @Transactional(readOnly = true)
+    public Optional<OrderDTO> findOrderByNumber(String orderNumber) {
+        return orderRepository.findWithDetailsByOrderNumber(orderNumber).map(this::convertToDTO);
+    }
+    
+    /**
+     * Find the order a customer placed with an idempotency key
+     * Throws if that order was placed from a request with another fingerprint.
+     */
+    @Transactional(readOnly = true)
+    public Optional<OrderDTO> findOrderByIdempotencyKey(Long customerId, String idempotencyKey,
+                                                        String requestFingerprint) {
+        Optional<Order> order = orderRepository.findWithDetailsByCustomerIdAndIdempotencyKey(customerId, idempotencyKey);
+        if (order.isPresent() && !Objects.equals(order.get().getRequestFingerprint(), requestFingerprint)) {
+            throw new IdempotencyKeyReusedException("Idempotency-Key was already used for a different order");
+        }
+        return order.map(this::convertToDTO);
     }
     
     /**
      * Cancel Order - Use Case: Cancel Order (Visitor, Admin)
      */
     public OrderDTO cancelOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-            .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
-        
-        if (order.getStatus() == Order.OrderStatus.CANCELLED) {
-            throw new RuntimeException("Order is already cancelled");
-        }
-        
-        if (order.getStatus() == Order.OrderStatus.DELIVERED) {
-            throw new RuntimeException("Cannot cancel a delivered order");
-        }
+        Order order = orderRepository.findWithDetailsById(orderId)
+            .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
         
+        checkCancellable(order);
         order.setStatus(Order.OrderStatus.CANCELLED);
+        releaseStock(order);
         Order savedOrder = orderRepository.save(order);
         
         return convertToDTO(savedOrder);
@@ -102,41 +213,64 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public OrderDTO getOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-            .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
+        Order order = orderRepository.findWithDetailsById(orderId)
+            .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
         
         return convertToDTO(order);
     }
     
     /**
-     * Manage Order - Get all orders for a customer (Visitor)
+     * Get the last update time of an order without loading it, for conditional GETs
      */
     @Transactional(readOnly = true)
-    public List<OrderDTO> getOrdersByCustomer(Long customerId) {
-        List<Order> orders = orderRepository.findByCustomerId(customerId);
-        return orders.stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+    public LocalDateTime getOrderUpdatedAt(Long orderId) {
+        return orderRepository.findUpdatedAtById(orderId)
+            .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
     }
     
     /**
-     * Manage Order - Get all orders (Admin)
+     * Manage Order - Get all orders for a customer (Visitor), one keyset page at a time
      */
     @Transactional(readOnly = true)
-    public List<OrderDTO> getAllOrders() {
-        List<Order> orders = orderRepository.findAll();
-        return orders.stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+    public OrderPageDTO getOrdersByCustomer(Long customerId, String cursor, Integer limit) {
+        OrderCursor after = decodeCursor(cursor);
+        int pageSize = pageSize(limit);
+        List<Long> ids = orderRepository.findIdsByCustomerIdBefore(
+            customerId, after.dateReceived(), after.id(), PageRequest.of(0, pageSize + 1));
+        return loadPage(ids, pageSize);
+    }
+    
+    /**
+     * Manage Order - Get all orders (Admin), one keyset page at a time
+     */
+    @Transactional(readOnly = true)
+    public OrderPageDTO getAllOrders(String cursor, Integer limit) {
+        OrderCursor after = decodeCursor(cursor);
+        int pageSize = pageSize(limit);
+        List<Long> ids = orderRepository.findIdsBefore(
+            after.dateReceived(), after.id(), PageRequest.of(0, pageSize + 1));
+        return loadPage(ids, pageSize);
     }
     
     /**
      * Change Order Status - Use Case: Change Order Status (Admin)
+     * Cancelling follows the same rules as cancelOrder, and a cancelled order stays cancelled.
      */
     public OrderDTO changeOrderStatus(Long orderId, UpdateOrderStatusRequest request) {
-        Order order = orderRepository.findById(orderId)
-            .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
+        Order order = orderRepository.findWithDetailsById(orderId)
+            .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
         
+        if (order.getStatus() == request.getStatus()) {
+            return convertToDTO(order);
+        }
+        // Cancelling gave the stock back; reopening would ship it without a reservation
+        if (order.getStatus() == Order.OrderStatus.CANCELLED) {
+            throw new RuntimeException("Cannot change the status of a cancelled order");
+        }
+        if (request.getStatus() == Order.OrderStatus.CANCELLED) {
+            checkCancellable(order);
+            releaseStock(order);
+        }
         order.setStatus(request.getStatus());
         Order savedOrder = orderRepository.save(order);
         
@@ -144,28 +278,348 @@ public class OrderService {
     }
     
     /**
-     * Get orders by status
+     * Get orders by status, one keyset page at a time
      */
     @Transactional(readOnly = true)
-    public List<OrderDTO> getOrdersByStatus(Order.OrderStatus status) {
-        List<Order> orders = orderRepository.findByStatus(status);
-        return orders.stream()
+    public OrderPageDTO getOrdersByStatus(Order.OrderStatus status, String cursor, Integer limit) {
+        OrderCursor after = decodeCursor(cursor);
+        int pageSize = pageSize(limit);
+        List<Long> ids = orderRepository.findIdsByStatusBefore(
+            status, after.dateReceived(), after.id(), PageRequest.of(0, pageSize + 1));
+        return loadPage(ids, pageSize);
+    }
+    
+    /**
+     * Export all orders with their lines, in id order.
+     * Orders are read through a cursor and mapped in chunks; the persistence context is
+     * cleared after each chunk so memory stays flat however many orders are exported.
+     */
+    @Transactional(readOnly = true)
+    public void exportOrders(Consumer<OrderDTO> sink) {
+        List<Order> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        try (Stream<Order> orders = orderRepository.streamAllForExport()) {
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    exportChunk(chunk, sink);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            exportChunk(chunk, sink);
+        }
+    }
+    
+    // Helper methods
+    private static void checkCancellable(Order order) {
+        if (order.getStatus() == Order.OrderStatus.CANCELLED) {
+            throw new RuntimeException("Order is already cancelled");
+        }
+        if (order.getStatus() == Order.OrderStatus.SHIPPED) {
+            throw new RuntimeException("Cannot cancel a shipped order");
+        }
+        if (order.getStatus() == Order.OrderStatus.DELIVERED) {
+            throw new RuntimeException("Cannot cancel a delivered order");
+        }
+    }
+    
+    private void checkReferences(CreateOrderRequest request, Set<Long> productIds) {
+        if (request.getCustomerId() == null || entityManager.find(Customer.class, request.getCustomerId()) == null) {
+            throw new ResourceNotFoundException("Customer not found with id: " + request.getCustomerId());
+        }
+        if (request.getOrderLines() == null || request.getOrderLines().isEmpty()) {
+            throw new RuntimeException("Order has no order lines");
+        }
+        for (CreateOrderRequest.OrderLineRequest lineRequest : request.getOrderLines()) {
+            if (!productIds.contains(lineRequest.getProductId())) {
+                throw new ResourceNotFoundException("Product not found with id: " + lineRequest.getProductId());
+            }
+        }
+    }
+    
+    private Order createOrder(CreateOrderRequest request, String orderNumber, LocalDateTime dateReceived) {
+        // Validate customer exists
+        Customer customer = customerRepository.findById(request.getCustomerId())
+            .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + request.getCustomerId()));
+        
+        // Create order
+        Order order = new Order();
+        order.setOrderNumber(orderNumber);
+        order.setIdempotencyKey(request.getIdempotencyKey());
+        order.setRequestFingerprint(request.getRequestFingerprint());
+        order.setCustomer(customer);
+        order.setPrepaid(request.getIsPrepaid() != null ? request.getIsPrepaid() : false);
+        order.setStatus(Order.OrderStatus.PENDING);
+        order.setDateReceived(dateReceived);
+        
+        // Price and name come from the product cache
+        List<ProductDTO> products = new ArrayList<>(request.getOrderLines().size());
+        for (CreateOrderRequest.OrderLineRequest lineRequest : request.getOrderLines()) {
+            // A non-positive quantity would add stock instead of reserving it
+            if (lineRequest.getQuantity() == null || lineRequest.getQuantity() < 1) {
+                throw new RuntimeException("Quantity must be positive for product: " + lineRequest.getProductId());
+            }
+            products.add(productService.getProduct(lineRequest.getProductId()));
+        }
+        
+        // Check stock availability and reserve it
+        reserveOrderStock(products, request.getOrderLines());
+        
+        // Process order lines
+        order.setTotalPriceMinor(
+            addOrderLines(order, products, request.getOrderLines(), productRepository::getReferenceById));
+        
+        // Save order
+        Order savedOrder = orderRepository.save(order);
+        storeMetrics.orderPlaced(savedOrder.getOrderLines().size());
+        return savedOrder;
+    }
+    
+    /**
+     * Add a line per product at the product's current price and return the order total.
+     * Package-private for the pricing benchmark.
+     */
+    static long addOrderLines(Order order, List<ProductDTO> products,
+                              List<CreateOrderRequest.OrderLineRequest> lineRequests,
+                              Function<Long, Product> productReference) {
+        long totalPriceMinor = 0;
+        for (int i = 0; i < products.size(); i++) {
+            ProductDTO product = products.get(i);
+            OrderLine orderLine = new OrderLine();
+            orderLine.setProduct(productReference.apply(product.getId()));
+            orderLine.setQuantity(lineRequests.get(i).getQuantity());
+            orderLine.setUnitPriceMinor(product.getPriceMinor());
+            order.addOrderLine(orderLine);
+            
+            totalPriceMinor = Money.add(totalPriceMinor, orderLine.getLineTotalMinor());
+        }
+        return totalPriceMinor;
+    }
+    
+    private void exportChunk(List<Order> chunk, Consumer<OrderDTO> sink) {
+        // Initializes the lines of every order in the chunk with one query
+        orderRepository.fetchOrderLines(chunk);
+        for (Order order : chunk) {
+            sink.accept(convertToDTO(order));
+        }
+        chunk.clear();
+        entityManager.clear();
+    }
+    
+    /**
+     * Reserve the stock of every line of an order, in product id order so that concurrent
+     * orders for the same products take their row locks in the same order and cannot deadlock.
+     * A rejected line gives back what earlier lines reserved, so a failed order leaves nothing
+     * behind in a transaction shared with other orders.
+     */
+    private void reserveOrderStock(List<ProductDTO> products, List<CreateOrderRequest.OrderLineRequest> lineRequests) {
+        List<StockReservation> wanted = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            wanted.add(new StockReservation(products.get(i), lineRequests.get(i).getQuantity()));
+        }
+        wanted.sort(Comparator.comparing(reservation -> reservation.product().getId()));
+        
+        List<StockReservation> reservations = new ArrayList<>(wanted.size());
+        try {
+            for (StockReservation reservation : wanted) {
+                reserveStock(reservation.product(), reservation.quantity());
+                reservations.add(reservation);
+            }
+        } catch (RuntimeException e) {
+            undoReservations(reservations);
+            if (e instanceof InsufficientStockException) {
+                storeMetrics.orderRejectedForStock();
+            }
+            throw e;
+        }
+        releaseOnRollback(reservations);
+    }
+    
+    private void reserveStock(ProductDTO product, int quantity) {
+        if (stockMode == StockMode.LEDGER) {
+            if (!stockLedger.reserve(product.getId(), quantity)) {
+                throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
+            }
+        } else if (stockMode == StockMode.CONDITIONAL_UPDATE) {
+            // Check and decrement in one statement; the exception rolls back earlier lines
+            if (productRepository.decrementStock(product.getId(), quantity) == 0) {
+                throw new InsufficientStockException("Insufficient stock for product: " + product.getName());
+            }
+        } else {
+            Product entity = lockProduct(product.getId());
+            if (entity.getStockQuantity() < quantity) {
+                throw new InsufficientStockException("Insufficient stock for product: " + entity.getName());
+            }
+            entity.setStockQuantity(entity.getStockQuantity() - quantity);
+        }
+    }
+    
+    /**
+     * Give back stock reserved by an order that was rejected part-way through.
+     */
+    private void undoReservations(List<StockReservation> reservations) {
+        for (StockReservation reservation : reservations) {
+            Long productId = reservation.product().getId();
+            if (stockMode == StockMode.LEDGER) {
+                stockLedger.release(productId, reservation.quantity());
+            } else if (stockMode == StockMode.CONDITIONAL_UPDATE) {
+                productRepository.incrementStock(productId, reservation.quantity());
+            } else {
+                // Same managed instance reserveStock locked and decremented
+                Product product = lockProduct(productId);
+                product.setStockQuantity(product.getStockQuantity() + reservation.quantity());
+            }
+        }
+    }
+    
+    /**
+     * Give ledger reservations back if the order transaction does not commit.
+     * The other modes reserve inside the transaction, so a rollback undoes them.
+     */
+    private void releaseOnRollback(List<StockReservation> reservations) {
+        if (stockMode != StockMode.LEDGER || reservations.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    for (StockReservation reservation : reservations) {
+                        stockLedger.release(reservation.product().getId(), reservation.quantity());
+                    }
+                }
+            }
+        });
+    }
+    
+    private record StockReservation(ProductDTO product, int quantity) {
+    }
+    
+    private void releaseStock(Order order) {
+        // Same product order as reserveOrderStock, so a cancellation cannot deadlock with new orders
+        List<OrderLine> lines = new ArrayList<>(order.getOrderLines());
+        lines.sort(Comparator.comparing(line -> line.getProduct().getId()));
+        for (OrderLine line : lines) {
+            Product product = line.getProduct();
+            int quantity = line.getQuantity();
+            if (stockMode == StockMode.LEDGER) {
+                // Only release once the cancellation is committed
+                Long productId = product.getId();
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        stockLedger.release(productId, quantity);
+                    }
+                });
+            } else if (stockMode == StockMode.CONDITIONAL_UPDATE) {
+                productRepository.incrementStock(product.getId(), quantity);
+            } else {
+                Product locked = lockProduct(product.getId());
+                locked.setStockQuantity(locked.getStockQuantity() + quantity);
+            }
+        }
+    }
+    
+    /**
+     * Load a product under its row lock for an ENTITY mode stock change, so concurrent
+     * read-modify-writes of stockQuantity cannot lose updates. A product this transaction
+     * has already locked is current and may hold unflushed changes, so it is not re-read.
+     */
+    private Product lockProduct(Long productId) {
+        Product product = productRepository.getReferenceById(productId);
+        if (entityManager.getLockMode(product) != LockModeType.PESSIMISTIC_WRITE) {
+            entityManager.refresh(product, LockModeType.PESSIMISTIC_WRITE);
+        }
+        return product;
+    }
+    
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return defaultPageSize;
+        }
+        if (limit < 1) {
+            throw new RuntimeException("Page limit must be positive");
+        }
+        return Math.min(limit, maxPageSize);
+    }
+    
+    /**
+     * Load the orders of one keyset page. ids holds up to pageSize + 1 entries;
+     * the extra one only signals that another page follows.
+     */
+    private OrderPageDTO loadPage(List<Long> ids, int pageSize) {
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+        if (pageIds.isEmpty()) {
+            return new OrderPageDTO(new ArrayList<>(), null);
+        }
+        
+        Map<Long, Order> ordersById = orderRepository.findWithDetailsByIdIn(pageIds).stream()
+            .collect(Collectors.toMap(Order::getId, Function.identity()));
+        List<OrderDTO> orders = pageIds.stream()
+            .map(ordersById::get)
             .map(this::convertToDTO)
             .collect(Collectors.toList());
+        
+        String nextCursor = null;
+        if (hasMore) {
+            OrderDTO last = orders.get(orders.size() - 1);
+            nextCursor = encodeCursor(last.getDateReceived(), last.getId());
+        }
+        return new OrderPageDTO(orders, nextCursor);
+    }
+    
+    private static String encodeCursor(LocalDateTime dateReceived, Long id) {
+        String position = dateReceived + "," + id;
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static OrderCursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return FIRST_PAGE;
+        }
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int comma = position.indexOf(',');
+            return new OrderCursor(
+                LocalDateTime.parse(position.substring(0, comma)),
+                Long.valueOf(position.substring(comma + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+    }
+    
+    /**
+     * Position of the last order on a page: the next page starts strictly after it.
+     */
+    private record OrderCursor(LocalDateTime dateReceived, Long id) {
     }
     
-    // Helper methods
     private String generateOrderNumber() {
-        return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return orderNumberGenerator.nextOrderNumber();
+    }
+    
+    /**
+     * Name of an order line's product, taken from the product cache when the
+     * product is still an uninitialized reference so mapping does not load it.
+     */
+    private String productName(Product product) {
+        if (Hibernate.isInitialized(product)) {
+            return product.getName();
+        }
+        return productService.getProduct(product.getId()).getName();
     }
     
-    private OrderDTO convertToDTO(Order order) {
+    // Package-private for the mapping benchmark
+    OrderDTO convertToDTO(Order order) {
         OrderDTO dto = new OrderDTO();
         dto.setId(order.getId());
         dto.setOrderNumber(order.getOrderNumber());
         dto.setDateReceived(order.getDateReceived());
         dto.setIsPrepaid(order.isPrepaid());
-        dto.setTotalPrice(order.getTotalPrice());
+        dto.setTotalPriceMinor(order.getTotalPriceMinor());
         dto.setStatus(order.getStatus());
         dto.setCreatedAt(order.getCreatedAt());
         dto.setUpdatedAt(order.getUpdatedAt());
@@ -181,11 +635,11 @@ public class OrderService {
                     OrderLineDTO lineDTO = new OrderLineDTO();
                     lineDTO.setId(line.getId());
                     lineDTO.setQuantity(line.getQuantity());
-                    lineDTO.setUnitPrice(line.getUnitPrice());
-                    lineDTO.setLineTotal(line.getLineTotal());
+                    lineDTO.setUnitPriceMinor(line.getUnitPriceMinor());
+                    lineDTO.setLineTotalMinor(line.getLineTotalMinor());
                     if (line.getProduct() != null) {
                         lineDTO.setProductId(line.getProduct().getId());
-                        lineDTO.setProductName(line.getProduct().getName());
+                        lineDTO.setProductName(productName(line.getProduct()));
                     }
                     return lineDTO;
                 })
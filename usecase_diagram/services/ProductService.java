@@ -1,14 +1,23 @@
 package usecase_diagram.services;
 
+import usecase_diagram.cache.CatalogSnapshot;
+import usecase_diagram.cache.ProductCache;
+import usecase_diagram.cache.ProductCatalog;
 import usecase_diagram.dto.*;
+import usecase_diagram.exceptions.ResourceNotFoundException;
 import usecase_diagram.models.Product;
 import usecase_diagram.repository.ProductRepository;
+import usecase_diagram.search.ProductSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service class for Product operations.
@@ -21,10 +30,32 @@ public class ProductService {
     @Autowired
     private ProductRepository productRepository;
     
+    @Autowired(required = false)
+    private StockReservationLedger stockLedger;
+    
+    @Autowired
+    private ProductCache productCache;
+    
+    @Autowired
+    private ProductCatalog productCatalog;
+    
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+    
+    @Value("${store.search.default-results:20}")
+    private int defaultSearchResults;
+    
+    @Value("${store.search.max-results:100}")
+    private int maxSearchResults;
+    
     /**
      * Create a new product
      */
     public ProductDTO createProduct(CreateProductRequest request) {
+        if (request.getPriceMinor() == null || request.getPriceMinor() < 0) {
+            throw new RuntimeException("Product price must be a non-negative amount in minor units");
+        }
+        
         // Check if SKU already exists
         if (productRepository.findBySku(request.getSku()).isPresent()) {
             throw new RuntimeException("Product with SKU " + request.getSku() + " already exists");
@@ -34,12 +65,13 @@ public class ProductService {
         product.setSku(request.getSku());
         product.setName(request.getName());
         product.setDescription(request.getDescription());
-        product.setPrice(request.getPrice());
+        product.setPriceMinor(request.getPriceMinor());
         product.setStockQuantity(request.getStockQuantity());
         product.setCategory(request.getCategory());
         product.setIsActive(true);
         
         Product savedProduct = productRepository.save(product);
+        publishAfterCommit(savedProduct, true);
         return convertToDTO(savedProduct);
     }
     
@@ -47,8 +79,18 @@ public class ProductService {
      * Update Products - Use Case: Update Products (Admin)
      */
     public ProductDTO updateProduct(Long productId, UpdateProductRequest request) {
+        if (request.getPriceMinor() != null && request.getPriceMinor() < 0) {
+            throw new RuntimeException("Product price must be a non-negative amount in minor units");
+        }
+        
         Product product = productRepository.findById(productId)
-            .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
+            .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        
+        boolean stockChanged = request.getStockQuantity() != null;
+        if (stockChanged && stockLedger != null) {
+            // The new absolute value must not be overtaken by a write-back of older changes
+            stockLedger.holdWriteBackUntilCompletion();
+        }
         
         if (request.getName() != null) {
             product.setName(request.getName());
@@ -56,10 +98,10 @@ public class ProductService {
         if (request.getDescription() != null) {
             product.setDescription(request.getDescription());
         }
-        if (request.getPrice() != null) {
-            product.setPrice(request.getPrice());
+        if (request.getPriceMinor() != null) {
+            product.setPriceMinor(request.getPriceMinor());
         }
-        if (request.getStockQuantity() != null) {
+        if (stockChanged) {
             product.setStockQuantity(request.getStockQuantity());
         }
         if (request.getCategory() != null) {
@@ -70,51 +112,93 @@ public class ProductService {
         }
         
         Product updatedProduct = productRepository.save(product);
+        publishAfterCommit(updatedProduct, stockChanged);
         return convertToDTO(updatedProduct);
     }
     
     /**
      * Get product by ID
+     * Served from the product cache; a miss loads the product in its own read-only transaction.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public ProductDTO getProduct(Long productId) {
-        Product product = productRepository.findById(productId)
-            .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
-        
-        return convertToDTO(product);
+        return productCache.getById(productId, id -> productRepository.findById(id)
+            .map(this::convertToDTO)
+            .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id)));
+    }
+    
+    /**
+     * Get product by SKU
+     * Served from the product cache; a miss loads the product in its own read-only transaction.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ProductDTO getProductBySku(String sku) {
+        return productCache.getBySku(sku, key -> productRepository.findBySku(key)
+            .map(this::convertToDTO)
+            .orElseThrow(() -> new ResourceNotFoundException("Product not found with SKU: " + key)));
     }
     
     /**
      * Get all products
+     * Served from the catalog snapshot once it has been loaded.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<ProductDTO> getAllProducts() {
-        List<Product> products = productRepository.findAll();
-        return products.stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        CatalogSnapshot catalog = productCatalog.getSnapshot();
+        if (catalog != null) {
+            return catalog.getAll();
+        }
+        return productRepository.findAllAsDTO();
     }
     
     /**
      * Get products by category
+     * Served from the catalog snapshot once it has been loaded.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<ProductDTO> getProductsByCategory(String category) {
-        List<Product> products = productRepository.findByCategory(category);
-        return products.stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        CatalogSnapshot catalog = productCatalog.getSnapshot();
+        if (catalog != null) {
+            return catalog.getByCategory(category);
+        }
+        return productRepository.findByCategoryAsDTO(category);
     }
     
     /**
      * Get active products only
+     * Served from the catalog snapshot once it has been loaded.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<ProductDTO> getActiveProducts() {
-        List<Product> products = productRepository.findByIsActive(true);
-        return products.stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        CatalogSnapshot catalog = productCatalog.getSnapshot();
+        if (catalog != null) {
+            return catalog.getActive();
+        }
+        return productRepository.findByIsActiveAsDTO(true);
+    }
+    
+    /**
+     * Search active products by name, description, SKU and category
+     * Matched by the in-memory search index; the ids are resolved through the catalog
+     * snapshot, falling back to the product cache, so results show current product data.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ProductDTO> searchProducts(String query, Integer limit) {
+        int size = limit != null ? Math.min(Math.max(limit, 1), maxSearchResults) : defaultSearchResults;
+        List<Long> productIds = productSearchIndex.search(query, size);
+        
+        CatalogSnapshot catalog = productCatalog.getSnapshot();
+        List<ProductDTO> products = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            ProductDTO product = catalog != null ? catalog.getById(productId) : null;
+            if (product == null) {
+                product = getProduct(productId);
+            }
+            if (Boolean.TRUE.equals(product.getIsActive())) {
+                products.add(product);
+            }
+        }
+        return products;
     }
     
     /**
@@ -122,20 +206,39 @@ public class ProductService {
      */
     public void deleteProduct(Long productId) {
         Product product = productRepository.findById(productId)
-            .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
+            .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
         
         product.setIsActive(false);
         productRepository.save(product);
+        publishAfterCommit(product, false);
     }
     
     // Helper methods
-    private ProductDTO convertToDTO(Product product) {
+    private void publishAfterCommit(Product product, boolean stockChanged) {
+        // Invalidating only after commit keeps concurrent readers from re-caching the old row,
+        // and a rolled-back stock change never reaches the ledger
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (stockChanged && stockLedger != null) {
+                    stockLedger.reset(product.getId(), product.getStockQuantity());
+                }
+                ProductDTO dto = convertToDTO(product);
+                productCache.invalidate(product.getId(), product.getSku());
+                productCatalog.publish(dto);
+                productSearchIndex.index(dto);
+            }
+        });
+    }
+    
+    // Package-private for the mapping benchmark
+    ProductDTO convertToDTO(Product product) {
         ProductDTO dto = new ProductDTO();
         dto.setId(product.getId());
         dto.setSku(product.getSku());
         dto.setName(product.getName());
         dto.setDescription(product.getDescription());
-        dto.setPrice(product.getPrice());
+        dto.setPriceMinor(product.getPriceMinor());
         dto.setStockQuantity(product.getStockQuantity());
         dto.setCategory(product.getCategory());
         dto.setIsActive(product.getIsActive());
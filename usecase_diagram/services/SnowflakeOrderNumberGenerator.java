@@ -0,0 +1,121 @@
+package usecase_diagram.services;
+
+import usecase_diagram.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered, node-aware order number generator in the style of Snowflake.
+ * Each number packs 41 bits of milliseconds since 2024-01-01, a 10-bit node id and
+ * a 12-bit per-millisecond sequence, and is written as "ORD-" followed by 13
+ * fixed-width Crockford base32 characters. Numbers from one node are strictly
+ * increasing, so inserts land at the right edge of the orders.order_number index.
+ *
+ * Uniqueness across instances relies on each instance having its own store.node-id
+ * (0-1023), so startup fails with store.multi-instance=true and no node id; a single
+ * instance defaults to node 0. On startup the generator resumes after the newest order
+ * number in the orders table, so a restart does not reissue numbers from a clock that
+ * has moved backwards or from milliseconds borrowed by a full sequence. Numbers handed
+ * out for journaled orders that were never written are not covered.
+ */
+@Component
+public class SnowflakeOrderNumberGenerator implements OrderNumberGenerator {
+    
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    
+    private static final String PREFIX = "ORD-";
+    private static final int ENCODED_LENGTH = 13;
+    private static final String ALPHABET_STRING = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final char[] ALPHABET = ALPHABET_STRING.toCharArray();
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    private final long nodeId;
+    
+    // Last issued (timestamp << SEQUENCE_BITS | sequence)
+    private final AtomicLong lastState = new AtomicLong();
+    
+    public SnowflakeOrderNumberGenerator(@Value("${store.node-id:-1}") long nodeId,
+                                         @Value("${store.multi-instance:false}") boolean multiInstance) {
+        if (nodeId < 0 && multiInstance) {
+            throw new IllegalStateException("store.node-id must be set to a value unique to this instance "
+                + "when store.multi-instance=true");
+        }
+        this.nodeId = Math.max(nodeId, 0);
+        if (this.nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("store.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+    }
+    
+    @PostConstruct
+    public void resumeAfterLastOrderNumber() {
+        orderRepository.findMaxOrderNumberLike(PREFIX + "_".repeat(ENCODED_LENGTH))
+            .ifPresent(this::resumeAfter);
+    }
+    
+    /**
+     * Never issue a number at or below the given one, whichever node issued it.
+     */
+    public void resumeAfter(String orderNumber) {
+        long timestamp = decode(orderNumber) >>> (NODE_BITS + SEQUENCE_BITS);
+        // A full sequence in that millisecond makes the next number start in the following one
+        long state = (timestamp << SEQUENCE_BITS) | SEQUENCE_MASK;
+        lastState.accumulateAndGet(state, Math::max);
+    }
+    
+    @Override
+    public String nextOrderNumber() {
+        long state = nextState();
+        long timestamp = state >>> SEQUENCE_BITS;
+        long id = (timestamp << (NODE_BITS + SEQUENCE_BITS))
+            | (nodeId << SEQUENCE_BITS)
+            | (state & SEQUENCE_MASK);
+        return encode(id);
+    }
+    
+    // Helper methods
+    private long nextState() {
+        long now = (System.currentTimeMillis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        while (true) {
+            long last = lastState.get();
+            // A full sequence or a clock moving backwards carries into the next millisecond
+            long next = Math.max(now, last + 1);
+            if (lastState.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+    
+    private static String encode(long id) {
+        char[] chars = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+    
+    private static long decode(String orderNumber) {
+        long id = 0;
+        for (int i = PREFIX.length(); i < orderNumber.length(); i++) {
+            int digit = ALPHABET_STRING.indexOf(orderNumber.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Not a generated order number: " + orderNumber);
+            }
+            id = (id << 5) | digit;
+        }
+        return id;
+    }
+}
@@ -0,0 +1,24 @@
+package usecase_diagram.services;
+
+/**
+ * Strategy used by OrderService to check and decrement product stock.
+ * Selected with the store.stock.mode property.
+ */
+public enum StockMode {
+    /**
+     * Load each Product entity under a row lock, check its stockQuantity and decrement it in the
+     * order transaction.
+     */
+    ENTITY,
+    
+    /**
+     * Reserve stock against the in-memory StockReservationLedger and write it back in batches.
+     */
+    LEDGER,
+    
+    /**
+     * Check and decrement stock in one conditional UPDATE per order line, without loading the entity.
+     * Lines are updated in product id order so concurrent orders cannot deadlock.
+     */
+    CONDITIONAL_UPDATE
+}
@@ -0,0 +1,254 @@
+package usecase_diagram.services;
+
+import usecase_diagram.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory stock reservation ledger used when store.stock.mode=LEDGER.
+ * Keeps one lock-free counter per product so reservations are granted or rejected
+ * without a DB round-trip. Net stock changes are written back to
+ * products.stock_quantity in batches by {@link #flush()}.
+ *
+ * The ledger is the stock authority of a single JVM, so it refuses to start with
+ * store.multi-instance=true. Changes not yet written back are lost if the process dies
+ * without a clean shutdown; the ledger then rebuilds from a stock_quantity that is too
+ * high by up to one flush interval of orders.
+ */
+@Component
+@ConditionalOnProperty(name = "store.stock.mode", havingValue = "LEDGER", matchIfMissing = true)
+public class StockReservationLedger {
+    
+    private static final String WRITE_BACK_SQL =
+        "UPDATE products SET stock_quantity = stock_quantity + ?, updated_at = LOCALTIMESTAMP WHERE id = ?";
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Value("${store.multi-instance:false}")
+    private boolean multiInstance;
+    
+    // Per product id: stock available for reservation in the high 32 bits and the net change
+    // not yet written back to the products table in the low 32 bits, updated together by CAS
+    private final Map<Long, AtomicLong> stock = new ConcurrentHashMap<>();
+    
+    // Serializes write-back with rebuilds and admin stock resets
+    private final ReentrantLock writeBackLock = new ReentrantLock();
+    
+    @PostConstruct
+    public void checkSingleInstance() {
+        if (multiInstance) {
+            throw new IllegalStateException("store.stock.mode=LEDGER keeps stock in one JVM and cannot be used "
+                + "with store.multi-instance=true; use store.stock.mode=CONDITIONAL_UPDATE");
+        }
+    }
+    
+    /**
+     * Rebuild the ledger from the products table on startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writeBackLock.lock();
+        try {
+            stock.clear();
+            for (Object[] row : productRepository.findAllStockQuantities()) {
+                stock.put((Long) row[0], new AtomicLong(pack((Integer) row[1], 0)));
+            }
+        } finally {
+            writeBackLock.unlock();
+        }
+    }
+    
+    /**
+     * Reserve stock for a product.
+     * @return true if the reservation was granted, false if there is not enough stock
+     */
+    public boolean reserve(Long productId, int quantity) {
+        checkQuantity(quantity);
+        AtomicLong state = stateFor(productId);
+        if (state == null) {
+            return false;
+        }
+        
+        while (true) {
+            long current = state.get();
+            int available = available(current);
+            if (available < quantity) {
+                return false;
+            }
+            if (state.compareAndSet(current, pack(available - quantity, pending(current) - quantity))) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Release a previously granted reservation, e.g. when an order is cancelled.
+     */
+    public void release(Long productId, int quantity) {
+        checkQuantity(quantity);
+        AtomicLong state = stateFor(productId);
+        if (state == null) {
+            return;
+        }
+        long current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current,
+            pack(available(current) + quantity, pending(current) + quantity)));
+    }
+    
+    /**
+     * Replace the stock of a product with an absolute value an admin has committed to the
+     * products table. Unflushed changes for the product are discarded since the new value
+     * supersedes them. Call after the commit, from a transaction that has held off
+     * write-back with {@link #holdWriteBackUntilCompletion()}.
+     */
+    public void reset(Long productId, int stockQuantity) {
+        writeBackLock.lock();
+        try {
+            // Set in place: a reservation racing with the reset either lands before it and is
+            // discarded, or retries its CAS against the new value
+            AtomicLong state = stock.putIfAbsent(productId, new AtomicLong(pack(stockQuantity, 0)));
+            if (state != null) {
+                state.set(pack(stockQuantity, 0));
+            }
+        } finally {
+            writeBackLock.unlock();
+        }
+    }
+    
+    /**
+     * Hold off write-back until the current transaction completes.
+     * Called before a transaction writes an absolute stock_quantity, so no batch of older
+     * changes can land on top of the new value between its commit and {@link #reset}.
+     */
+    public void holdWriteBackUntilCompletion() {
+        writeBackLock.lock();
+        try {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    writeBackLock.unlock();
+                }
+            });
+        } catch (RuntimeException e) {
+            writeBackLock.unlock();
+            throw e;
+        }
+    }
+    
+    /**
+     * Get the stock currently available for reservation.
+     */
+    public int getAvailable(Long productId) {
+        AtomicLong state = stateFor(productId);
+        return state != null ? available(state.get()) : 0;
+    }
+    
+    /**
+     * Write pending stock changes back to the products table in one JDBC batch.
+     */
+    @Scheduled(fixedDelayString = "${store.stock.flush-interval-ms:500}")
+    public void flush() {
+        writeBackLock.lock();
+        try {
+            List<Object[]> batch = new ArrayList<>();
+            for (Map.Entry<Long, AtomicLong> entry : stock.entrySet()) {
+                int delta = takePending(entry.getValue());
+                if (delta != 0) {
+                    batch.add(new Object[] { delta, entry.getKey() });
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            
+            try {
+                jdbcTemplate.batchUpdate(WRITE_BACK_SQL, batch);
+            } catch (RuntimeException e) {
+                // Put the deltas back so the next flush retries them
+                for (Object[] args : batch) {
+                    addPending(stock.get((Long) args[1]), (Integer) args[0]);
+                }
+                throw e;
+            }
+        } finally {
+            writeBackLock.unlock();
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+    
+    // Helper methods
+    private AtomicLong stateFor(Long productId) {
+        AtomicLong state = stock.get(productId);
+        if (state != null) {
+            return state;
+        }
+        // Product not in the ledger yet, e.g. inserted directly into the table: load it once
+        return productRepository.findById(productId)
+            .map(product -> stock.computeIfAbsent(productId,
+                id -> new AtomicLong(pack(product.getStockQuantity(), 0))))
+            .orElse(null);
+    }
+    
+    private static int takePending(AtomicLong state) {
+        long current;
+        do {
+            current = state.get();
+            if (pending(current) == 0) {
+                return 0;
+            }
+        } while (!state.compareAndSet(current, pack(available(current), 0)));
+        return pending(current);
+    }
+    
+    private static void addPending(AtomicLong state, int delta) {
+        long current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, pack(available(current), pending(current) + delta)));
+    }
+    
+    private static void checkQuantity(int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Stock quantity to reserve or release must be positive: " + quantity);
+        }
+    }
+    
+    private static long pack(int available, int pending) {
+        return ((long) available << 32) | (pending & 0xFFFFFFFFL);
+    }
+    
+    private static int available(long state) {
+        return (int) (state >> 32);
+    }
+    
+    private static int pending(long state) {
+        return (int) state;
+    }
+}